@@ -0,0 +1,192 @@
+package com.xcurenet.common.msg;
+
+import com.xcurenet.common.types.AttachExtension;
+import com.xcurenet.common.types.EMail;
+import com.xcurenet.common.types.IP;
+import com.xcurenet.common.utils.Common;
+import com.xcurenet.common.utils.DateUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * INFO 파싱 비교
+ * - 변환만: 리플렉션 vs {@link MSGBinder}
+ * - 전체: 문자열 + Map + 리플렉션 (이전 방식) vs {@link MSGStreamParser}
+ * - 이전 방식은 비교용으로 이 클래스 안에만 남겨 둔다 (애플리케이션 jar 에는 포함되지 않음)
+ * <pre>
+ * mvn -Pbench compile
+ * java -cp "target/classes:$(의존성 classpath)" com.xcurenet.common.msg.MSGBinderBenchmark [반복 수]
+ * </pre>
+ * 같은 INFO 텍스트로 두 방식을 번갈아 워밍업/측정하고 건당 평균 시간(ns)을 출력한다.
+ */
+public class MSGBinderBenchmark {
+	private static final Pattern ARRAY_KEY = Pattern.compile("(\\w+)\\[(\\d+)]");
+
+	private static final String SAMPLE = String.join("\n",
+			"[EPU]",
+			"CTIME: 2025-01-15 10:23:45.123",
+			"SOURCEIP: 10.10.1.23",
+			"SOURCEPORT: 53211",
+			"DESTINATIONIP: 172.16.5.8",
+			"HOST: mail.example.com",
+			"URL: /owa/service.svc",
+			"URL_PARAMS: action=CreateItem&id=123",
+			"HDRFILE: 20250115/10/hdr_0001.txt",
+			"MSGFILE: 20250115/10/body_0001.txt",
+			"MSGSIZE: 20480",
+			"CHARSET: UTF-8",
+			"FROM: Hong Gildong <hong@example.com>",
+			"TO[0]: kim@example.com",
+			"TO[1]: lee@example.com",
+			"CC[0]: park@example.com",
+			"SUBJECT: 분기 보고서 송부",
+			"PROTOCOL: h2",
+			"STYPE: WM",
+			"PCFILE[0]: report.xlsx",
+			"PCFILE[1]: summary.pdf",
+			"APPFILE[0]: 20250115/10/att_0001.dat",
+			"APPFILE[1]: 20250115/10/att_0002.dat",
+			"EXTENSION[0]: 1:xlsx",
+			"EXTENSION[1]: 1:pdf",
+			"FSIZE[0]: 102400",
+			"FSIZE[1]: 52100",
+			"MSGKEY: 3f2a9c1e-77aa-4b1c",
+			"USERIP: 10.10.1.23:53211",
+			"LOGIN_ID: hong");
+
+	public static void main(String[] args) throws Exception {
+		final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		final Map<String, Object> map = parseInfoText(SAMPLE);
+
+		final byte[] bytes = SAMPLE.getBytes(StandardCharsets.UTF_8);
+
+		final MSGData expected = convertDataReflective(map);
+		final MSGData actual = MSGBinder.bind(map);
+		if (!expected.equals(actual)) throw new IllegalStateException("binder result differs\n" + expected + "\n" + actual);
+		final MSGData streamed = MSGStreamParser.parse(new ByteArrayInputStream(bytes), null);
+		if (!expected.equals(streamed)) throw new IllegalStateException("stream parser result differs\n" + expected + "\n" + streamed);
+
+		for (int round = 1; round <= 3; round++) {
+			final long reflective = measure(iterations, () -> convertDataReflective(map));
+			final long binder = measure(iterations, () -> MSGBinder.bind(map));
+			System.out.printf("round %d | convert | reflective %,d ns/msg | binder %,d ns/msg | %.1fx%n", round, reflective, binder, (double) reflective / Math.max(1, binder));
+
+			final long legacy = measure(iterations, () -> convertDataReflective(parseInfoText(new String(bytes, StandardCharsets.UTF_8))));
+			final long stream = measure(iterations, () -> MSGStreamParser.parse(new ByteArrayInputStream(bytes), null));
+			System.out.printf("round %d | parse   | legacy %,d ns/msg | stream %,d ns/msg | %.1fx%n", round, legacy, stream, (double) legacy / Math.max(1, stream));
+		}
+	}
+
+	@FunctionalInterface
+	private interface Convert {
+		MSGData run() throws Exception;
+	}
+
+	private static long measure(final int iterations, final Convert convert) throws Exception {
+		int sink = 0;
+		for (int i = 0; i < iterations / 4; i++) sink += convert.run().getSourcePort(); // 워밍업
+		final long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) sink += convert.run().getSourcePort();
+		final long elapsed = System.nanoTime() - start;
+		if (sink == 42) System.out.print("");
+		return elapsed / iterations;
+	}
+
+	/**
+	 * 문자열 + Map 기반 파싱 (이전 MSGParser 방식)
+	 */
+	static Map<String, Object> parseInfoText(String input) {
+		Map<String, Object> map = new HashMap<>();
+		if (input == null) return map;
+
+		try (BufferedReader reader = new BufferedReader(new StringReader(input))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith("[") && line.endsWith("]")) {
+					map.put("SVCKIND", line.substring(1, line.length() - 1));
+					continue;
+				}
+
+				String[] fields = line.split(":", 2);
+				if (fields.length < 2) continue;
+
+				String key = fields[0].trim();
+				String value = fields[1].trim();
+
+				if (key.endsWith("]") && key.charAt(0) != '[') {
+					Matcher matcher = ARRAY_KEY.matcher(key);
+					if (matcher.find()) {
+						key = matcher.group(1);
+						int index = Integer.parseInt(matcher.group(2));
+						@SuppressWarnings("unchecked")
+						List<String> list = (List<String>) map.computeIfAbsent(key, k -> new ArrayList<>());
+						while (list.size() <= index) list.add(null);
+						list.set(index, value);
+						continue;
+					}
+				}
+				map.put(key, value);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return map;
+	}
+
+	/**
+	 * 리플렉션 기반 변환 (이전 MSGParser 방식)
+	 */
+	static MSGData convertDataReflective(Map<String, Object> keyValueMap) throws Exception {
+		MSGData dataStruct = MSGData.class.getDeclaredConstructor().newInstance();
+		for (Field field : MSGData.class.getDeclaredFields()) {
+			field.setAccessible(true);
+			if (!field.isAnnotationPresent(FieldKey.class)) continue;
+
+			for (String key : field.getAnnotation(FieldKey.class).value()) {
+				if (keyValueMap.containsKey(key)) {
+					field.set(dataStruct, parseValue(field.getType(), keyValueMap.get(key), field));
+					break;
+				}
+			}
+		}
+		return dataStruct;
+	}
+
+	private static Object parseValue(Class<?> type, Object value, Field field) throws IOException {
+		String strVal = Common.nvl(value);
+		if ("userIp".equals(field.getName()) && !"unknown".equals(strVal)) {
+			return IP.create(StringUtils.split(strVal, ":, ")[0]);
+		}
+
+		if (type == String.class) return value;
+		if (type == int.class || type == Integer.class) return Integer.parseInt(strVal);
+		if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(strVal);
+		if (type == IP.class) return new IP(strVal);
+		if (type == DateTime.class) return DateUtils.parseDateTime(strVal);
+		if (type == EMail.class) return EMail.parse(strVal);
+		if (type == AttachExtension.class) return new AttachExtension(strVal);
+		if (List.class.isAssignableFrom(type)) {
+			Class<?> elementType = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+			List<Object> resultList = new ArrayList<>();
+			for (Object item : (List<?>) value) {
+				resultList.add(parseValue(elementType, item, field));
+			}
+			return resultList;
+		}
+		return null;
+	}
+}
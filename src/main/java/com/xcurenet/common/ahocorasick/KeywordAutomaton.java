@@ -0,0 +1,216 @@
+package com.xcurenet.common.ahocorasick;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * 컴파일된 Aho-Corasick 오토마톤 (더블 배열 트라이, 생성 후 불변)
+ * - 글자 → 알파벳 코드(키워드에 쓰인 글자만 1..N, 나머지 0) 변환 후 base/check 배열로 전이
+ * - 실패 링크 + 출력 링크(실패 경로 중 토큰이 끝나는 상태)로 겹치는 매치까지 모두 센다
+ * - {@link #scan} 은 호출자가 준 int[] 에 토큰별 건수만 더한다 (매치 객체 생성 없음)
+ * - 다른 검사와 한 루프로 묶을 때는 {@link #next} / {@link #firstOutput} / {@link #nextOutput} 로 직접 전이한다
+ */
+public final class KeywordAutomaton {
+	private static final int ROOT = 1;
+	private static final int NONE = 0;
+
+	private final boolean ignoreCase;
+	private final boolean wholeWords;
+	private final char[] alphabet = new char[Character.MAX_VALUE + 1];
+	private final int[] tokenLength;
+	private final int[] base;
+	private final int[] check;
+	private final int[] fail;
+	private final int[] output;
+	private final int[] outputLink;
+
+	/**
+	 * @param tokens     토큰 목록 (위치 = 토큰 id, 중복/빈 문자열 없음)
+	 * @param ignoreCase 토큰과 본문을 글자 단위 소문자로 비교
+	 * @param wholeWords 앞뒤가 공백(또는 시작/끝)인 매치만 인정
+	 */
+	public KeywordAutomaton(final List<String> tokens, final boolean ignoreCase, final boolean wholeWords) {
+		this.ignoreCase = ignoreCase;
+		this.wholeWords = wholeWords;
+		this.tokenLength = new int[tokens.size()];
+
+		// 1) 알파벳 코드 + 목록형 트라이
+		final List<TreeMap<Character, Integer>> children = new ArrayList<>();
+		final List<Integer> terminal = new ArrayList<>();
+		children.add(new TreeMap<>());
+		terminal.add(-1);
+		char codes = 0;
+		for (int id = 0; id < tokens.size(); id++) {
+			final String token = tokens.get(id);
+			tokenLength[id] = token.length();
+			int node = 0;
+			for (int i = 0; i < token.length(); i++) {
+				final char ch = fold(token.charAt(i));
+				if (alphabet[ch] == 0) alphabet[ch] = ++codes;
+				Integer next = children.get(node).get(alphabet[ch]);
+				if (next == null) {
+					next = children.size();
+					children.add(new TreeMap<>());
+					terminal.add(-1);
+					children.get(node).put(alphabet[ch], next);
+				}
+				node = next;
+			}
+			terminal.set(node, id);
+		}
+
+		// 2) 더블 배열 배치 (BFS 순서, 자식 코드가 모두 빈 칸에 들어가는 가장 작은 base)
+		final int nodes = children.size();
+		final int[] index = new int[nodes];
+		int[] base = new int[Math.max(ROOT + 1, nodes + codes + 1)];
+		int[] check = new int[base.length];
+		check[ROOT] = -1;
+		index[0] = ROOT;
+		int firstFree = ROOT + 1;
+		final ArrayDeque<Integer> queue = new ArrayDeque<>();
+		queue.add(0);
+		while (!queue.isEmpty()) {
+			final int node = queue.poll();
+			final TreeMap<Character, Integer> edges = children.get(node);
+			if (edges.isEmpty()) continue;
+			final char first = edges.firstKey();
+			while (firstFree < check.length && check[firstFree] != 0) firstFree++;
+			int b = Math.max(1, firstFree - first);
+			while (true) {
+				final int need = b + edges.lastKey() + 1;
+				if (need > check.length) {
+					base = Arrays.copyOf(base, Math.max(need, check.length * 2));
+					check = Arrays.copyOf(check, base.length);
+				}
+				boolean fits = true;
+				for (char c : edges.keySet()) {
+					if (check[b + c] != 0) {
+						fits = false;
+						break;
+					}
+				}
+				if (fits) break;
+				b++;
+			}
+			final int s = index[node];
+			base[s] = b;
+			for (var e : edges.entrySet()) {
+				final int t = b + e.getKey();
+				check[t] = s;
+				index[e.getValue()] = t;
+				queue.add(e.getValue());
+			}
+		}
+		this.base = base;
+		this.check = check;
+
+		// 3) 출력 / 실패 링크 / 출력 링크 (BFS)
+		output = new int[check.length];
+		fail = new int[check.length];
+		outputLink = new int[check.length];
+		Arrays.fill(output, -1);
+		for (int node = 0; node < nodes; node++) output[index[node]] = terminal.get(node);
+		fail[ROOT] = ROOT;
+		queue.add(0);
+		while (!queue.isEmpty()) {
+			final int node = queue.poll();
+			final int s = index[node];
+			for (var e : children.get(node).entrySet()) {
+				final int t = index[e.getValue()];
+				int f = s == ROOT ? ROOT : fail[s];
+				int next = s == ROOT ? ROOT : NONE;
+				while (next == NONE) {
+					next = transition(f, e.getKey());
+					if (next == NONE) {
+						if (f == ROOT) next = ROOT;
+						else f = fail[f];
+					}
+				}
+				fail[t] = next;
+				outputLink[t] = output[fail[t]] >= 0 ? fail[t] : outputLink[fail[t]];
+				queue.add(e.getValue());
+			}
+		}
+	}
+
+	private int transition(final int state, final int code) {
+		final int t = base[state] + code;
+		return base[state] != 0 && t < check.length && check[t] == state ? t : NONE;
+	}
+
+	private char fold(final char ch) {
+		return ignoreCase ? Character.toLowerCase(ch) : ch;
+	}
+
+	public int tokenCount() {
+		return tokenLength.length;
+	}
+
+	public int tokenLength(final int token) {
+		return tokenLength[token];
+	}
+
+	/**
+	 * 시작 상태
+	 */
+	public int start() {
+		return ROOT;
+	}
+
+	/**
+	 * 글자 하나 전이 (키워드에 없는 글자면 시작 상태)
+	 */
+	public int next(int state, final char ch) {
+		final int code = alphabet[fold(ch)];
+		if (code == 0) return ROOT;
+		int next;
+		while ((next = transition(state, code)) == NONE && state != ROOT) state = fail[state];
+		return next == NONE ? ROOT : next;
+	}
+
+	/**
+	 * state 에서 끝나는 첫 출력 (없으면 0), 이후는 {@link #nextOutput} 으로 따라간다
+	 */
+	public int firstOutput(final int state) {
+		return output[state] >= 0 ? state : outputLink[state];
+	}
+
+	public int nextOutput(final int output) {
+		return outputLink[output];
+	}
+
+	/**
+	 * 출력의 토큰 id
+	 */
+	public int token(final int output) {
+		return this.output[output];
+	}
+
+	/**
+	 * text 의 토큰 출현 건수(겹침 포함)를 counts[토큰 id] 에 더한다
+	 *
+	 * @param touched 이번 호출에서 처음 0 → 1 이 된 토큰 id 를 순서대로 기록 (크기 = 토큰 수)
+	 * @return touched 에 기록한 개수
+	 */
+	int scan(final CharSequence text, final int[] counts, final int[] touched) {
+		int hits = 0;
+		int state = ROOT;
+		final int length = text.length();
+		for (int i = 0; i < length; i++) {
+			state = next(state, text.charAt(i));
+			for (int o = firstOutput(state); o != NONE; o = outputLink[o]) {
+				final int id = output[o];
+				if (wholeWords && !isWholeWord(text, i - tokenLength[id] + 1, i)) continue;
+				if (counts[id]++ == 0) touched[hits++] = id;
+			}
+		}
+		return hits;
+	}
+
+	private static boolean isWholeWord(final CharSequence text, final int start, final int end) {
+		return (start == 0 || Character.isWhitespace(text.charAt(start - 1))) && (end + 1 == text.length() || Character.isWhitespace(text.charAt(end + 1)));
+	}
+}
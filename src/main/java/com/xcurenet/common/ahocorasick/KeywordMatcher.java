@@ -1,20 +1,24 @@
 package com.xcurenet.common.ahocorasick;
 
+import com.xcurenet.common.utils.ScratchPool;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.log4j.Log4j2;
-import org.ahocorasick.trie.Emit;
-import org.ahocorasick.trie.Trie;
 
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
- * Aho-Corasick(0.6.3) 기반 키워드 탐지 유틸
- * - allowOverlaps(): 중첩 매치 허용 (예: "보안코드삭제" 내 "보안코드" 및 "보안코드삭제" 동시 탐지)
- * - 복합(AND) 키워드: "보안 사고" 처럼 공백 포함 키워드는 각 토큰 모두가 텍스트에 존재하면 충족
+ * Aho-Corasick 기반 키워드 탐지 유틸
+ * - 중첩 매치 허용 (예: "보안코드삭제" 내 "보안코드" 및 "보안코드삭제" 동시 탐지)
+ * - 복합(AND) 키워드: "보안 사고" 처럼 공백 포함 키워드는 각 토큰 모두가 텍스트에 존재하면 충족 (건수 = 토큰 건수의 최소값)
+ * - {@link #prepare} 에서 키워드/토큰을 int id 로 바꾸고 {@link KeywordAutomaton} 으로 컴파일한다 (최소 건수도 미리 계산)
+ * - 탐지 시 {@link ScratchPool} 에서 빌린 int[] 카운터만 사용하고 결과 Map 외에는 할당하지 않는다
  */
 @Log4j2
 @Data
@@ -23,37 +27,36 @@ public class KeywordMatcher implements Serializable {
 
 	// === 설정 플래그 ===
 	/**
-	 * 대소문자 무시 (한글엔 영향 적고, 영문/숫자/기호 혼용 텍스트 고려 시 유용)
+	 * 대소문자 무시 (글자 단위 소문자 비교, 한글엔 영향 적고 영문/숫자/기호 혼용 텍스트 고려 시 유용)
 	 */
 	private boolean ignoreCase = false;
 	/**
 	 * 공백 단위 단어만 매칭할지(권장: false). true면 "부분매치"를 방지하나 한글 결합어 탐지는 떨어짐
 	 */
 	private boolean onlyWholeWordsWhiteSpaceSeparated = false;
-	/**
-	 * 겹침 허용: 중첩 매치 필요 시 반드시 false
-	 */
-	private boolean ignoreOverlaps = false;
 
 	// === 내부 구조 ===
 	private final List<Keyword> keywordList = new ArrayList<>();
 
 	/**
-	 * 단일 키워드(공백 없음) 집합
+	 * 단일 키워드(공백 없음) 집합 (등록 순서)
 	 */
-	private final Set<String> normalKeywords = new HashSet<>();
+	private final Set<String> normalKeywords = new LinkedHashSet<>();
 
 	/**
-	 * 복합(AND) 키워드 매핑
+	 * 복합(AND) 키워드 매핑 (등록 순서)
 	 * key   : 원본 복합 키워드(예: "보안 사고")
 	 * value : 구성 토큰 리스트(예: ["보안","사고"])
 	 */
-	private final Map<String, List<String>> complexKeywords = new HashMap<>();
+	private final Map<String, List<String>> complexKeywords = new LinkedHashMap<>();
 
 	/**
-	 * 각 토큰(단일 키워드 및 복합의 구성 토큰)을 담은 AC 트라이
+	 * 컴파일 결과 (prepare 시 교체)
 	 */
-	private transient Trie trie;
+	@ToString.Exclude
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private transient volatile Compiled compiled;
 	private boolean prepared = false;
 
 	// ========== 키워드 등록/준비 ==========
@@ -73,7 +76,7 @@ public class KeywordMatcher implements Serializable {
 		if (parts.length > 1) {
 			List<String> tokens = new ArrayList<>(parts.length);
 			for (String p : parts) {
-				String token = normalize(p);
+				String token = safeTrim(p);
 				if (!token.isEmpty()) {
 					tokens.add(token);
 				}
@@ -90,76 +93,25 @@ public class KeywordMatcher implements Serializable {
 	}
 
 	/**
-	 * AC 트라이 준비. 모든 단일 키워드 및 복합 키워드의 구성 토큰을 트라이에 반영.
+	 * 컴파일: 단일 키워드 및 복합 키워드의 구성 토큰을 id 로 바꿔 오토마톤 생성, 키워드별 최소 건수 확정
 	 */
 	public void prepare() {
-		Trie.TrieBuilder builder = Trie.builder();
-
-		if (ignoreOverlaps) builder.ignoreOverlaps();
-		if (onlyWholeWordsWhiteSpaceSeparated) builder.onlyWholeWordsWhiteSpaceSeparated();
-		if (ignoreCase) builder.ignoreCase();
-
-		// 1) 단일 키워드
-		for (String k : normalKeywords) {
-			String token = normalize(k);
-			if (!token.isEmpty()) builder.addKeyword(token);
-		}
-		// 2) 복합(AND) 키워드의 구성 토큰
-		for (List<String> tokens : complexKeywords.values()) {
-			for (String token : tokens) {
-				String norm = normalize(token);
-				if (!norm.isEmpty()) builder.addKeyword(norm);
-			}
-		}
-
-		trie = builder.build();
+		compiled = new Compiled(this);
 		prepared = true;
 	}
 
 	/**
-	 * 신규: 키워드별 탐지 건수 반환 (String 입력)
+	 * 키워드별 탐지 건수 반환 (String 입력)
 	 */
 	public Map<String, Integer> checkKeywordCounts(final String text) {
 		if (text == null) return Collections.emptyMap();
-		ensurePrepared();
-		String query = normalize(text);
-		Map<String, Integer> tokenCounts = emitTokenCounts(query);
-
-		// 단일 키워드 카운트
-		Map<String, Integer> result = new LinkedHashMap<>();
-		for (String k : normalKeywords) {
-			int cnt = tokenCounts.getOrDefault(normalize(k), 0);
-			if (cnt > 0) result.put(k, cnt);
-		}
-
-		// 복합(AND) 키워드 충족 여부(모든 토큰 등장)
-		for (Map.Entry<String, List<String>> e : complexKeywords.entrySet()) {
-			String complexKey = e.getKey();
-			List<String> tokens = e.getValue();
-
-			boolean allHit = true;
-			Integer minCountAcrossTokens = null;   // ★ 최소값으로 카운트
-			for (String t : tokens) {
-				int c = tokenCounts.getOrDefault(normalize(t), 0);
-				if (c <= 0) {
-					allHit = false;
-					break;
-				}
-				minCountAcrossTokens = (minCountAcrossTokens == null) ? c : Math.min(minCountAcrossTokens, c);
-			}
-			if (allHit) {
-				int countForComplex = (minCountAcrossTokens == null) ? 0 : minCountAcrossTokens;
-				// ★ 복합 키워드 카운트 = 각 토큰 카운트의 최소값
-				result.put(complexKey, countForComplex);
-			}
-		}
-
+		Map<String, Integer> result = compiled().match(text, false);
 		log.debug("CHECK_KEYWORD_COUNTS | {}", result);
 		return result;
 	}
 
 	/**
-	 * 신규: 키워드별 탐지 건수 반환 (byte[] 입력)
+	 * 키워드별 탐지 건수 반환 (byte[] 입력)
 	 */
 	public Map<String, Integer> checkKeywordCounts(final byte[] text) {
 		if (text == null || text.length == 0) return Collections.emptyMap();
@@ -167,57 +119,290 @@ public class KeywordMatcher implements Serializable {
 	}
 
 	/**
-	 * 신규: minCount 기준으로 필터링된 카운트 반환
+	 * minCount 기준으로 필터링된 카운트 반환
 	 */
 	public Map<String, Integer> checkKeywordOverMin(final String text) {
-		Map<String, Integer> raw = checkKeywordCounts(text);
-		if (raw.isEmpty()) return raw;
+		if (text == null) return Collections.emptyMap();
+		return compiled().match(text, true);
+	}
+
+	/**
+	 * 메시지 단위 구간별 탐지 시작 (풀에서 빌린 재사용 객체를 비워서 반환, 사용 후 close 로 반납)
+	 */
+	public SectionScan sections() {
+		return compiled().sections();
+	}
+
+	// ========== 내부 유틸 ==========
 
-		Map<String, Integer> minMap = new HashMap<>();
-		for (Keyword k : keywordList) {
-			minMap.put(k.getKeyword(), k.getMinCount());
+	private Compiled compiled() {
+		Compiled c = compiled;
+		if (!prepared || c == null) {
+			prepare();
+			c = compiled;
 		}
+		return c;
+	}
+
+	private static String safeTrim(String s) {
+		return s == null ? "" : s.trim();
+	}
+
+	/**
+	 * 컴파일된 키워드 집합 (불변)
+	 * - 키워드 id: 단일 키워드(등록 순) → 복합 키워드(등록 순), 결과 Map 순서도 같다
+	 * - 토큰 id: 오토마톤 출력 id, tokenKeywords[토큰] = 그 토큰을 쓰는 키워드 id 목록
+	 */
+	private static final class Compiled {
+		private final KeywordAutomaton automaton;
+		private final String[] names;
+		private final int[][] keywordTokens;
+		private final int[] minCounts;
+		private final int[][] tokenKeywords;
+		private final ScratchPool<Counters> counters;
+
+		private Compiled(final KeywordMatcher matcher) {
+			final Map<String, Integer> tokenIds = new LinkedHashMap<>();
+			final List<String> keywordNames = new ArrayList<>();
+			final List<int[]> tokensOf = new ArrayList<>();
+			for (String k : matcher.normalKeywords) {
+				keywordNames.add(k);
+				tokensOf.add(new int[]{tokenId(tokenIds, k, matcher.ignoreCase)});
+			}
+			for (Map.Entry<String, List<String>> e : matcher.complexKeywords.entrySet()) {
+				final int[] ids = new int[e.getValue().size()];
+				for (int i = 0; i < ids.length; i++) ids[i] = tokenId(tokenIds, e.getValue().get(i), matcher.ignoreCase);
+				keywordNames.add(e.getKey());
+				tokensOf.add(ids);
+			}
 
-		Map<String, Integer> filtered = new LinkedHashMap<>();
-		for (Map.Entry<String, Integer> e : raw.entrySet()) {
-			int min = minMap.getOrDefault(e.getKey(), 1);
-			if (e.getValue() >= min) {
-				filtered.put(e.getKey(), e.getValue());
+			this.names = keywordNames.toArray(new String[0]);
+			this.keywordTokens = tokensOf.toArray(new int[0][]);
+
+			// 같은 키워드가 여러 번 등록되면 마지막 최소 건수 사용
+			final Map<String, Integer> mins = new HashMap<>();
+			for (Keyword k : matcher.keywordList) mins.put(k.getKeyword(), k.getMinCount());
+			this.minCounts = new int[names.length];
+			for (int i = 0; i < names.length; i++) minCounts[i] = mins.getOrDefault(names[i], 1);
+
+			final int[] uses = new int[tokenIds.size()];
+			for (int[] ids : keywordTokens) for (int t : ids) uses[t]++;
+			this.tokenKeywords = new int[tokenIds.size()][];
+			for (int t = 0; t < uses.length; t++) tokenKeywords[t] = new int[uses[t]];
+			Arrays.fill(uses, 0);
+			for (int k = 0; k < keywordTokens.length; k++) for (int t : keywordTokens[k]) tokenKeywords[t][uses[t]++] = k;
+
+			this.automaton = new KeywordAutomaton(new ArrayList<>(tokenIds.keySet()), matcher.ignoreCase, matcher.onlyWholeWordsWhiteSpaceSeparated);
+			this.counters = new ScratchPool<>(() -> new Counters(automaton.tokenCount(), names.length));
+		}
+
+		private SectionScan sections() {
+			final Counters c = counters.borrow();
+			if (c.sections == null) c.sections = new SectionScan(this, c, names.length);
+			return c.sections.reset();
+		}
+
+		/**
+		 * ignoreCase 면 글자 단위 소문자 기준으로 같은 토큰을 하나의 id 로 합친다
+		 */
+		private static int tokenId(final Map<String, Integer> tokenIds, final String token, final boolean ignoreCase) {
+			String key = token;
+			if (ignoreCase) {
+				final char[] chars = token.toCharArray();
+				for (int i = 0; i < chars.length; i++) chars[i] = Character.toLowerCase(chars[i]);
+				key = new String(chars);
 			}
+			return tokenIds.computeIfAbsent(key, x -> tokenIds.size());
 		}
-		return filtered;
-	}
 
-	// ========== 내부 유틸 ==========
+		private Map<String, Integer> match(final String text, final boolean overMin) {
+			final Counters c = counters.borrow();
+			try {
+				final int hits = evaluate(text, overMin, c);
+				if (hits == 0) return Collections.emptyMap();
+				final Map<String, Integer> result = new LinkedHashMap<>();
+				for (int i = 0; i < hits; i++) result.put(names[c.keywords[i]], c.keywordCounts[i]);
+				return result;
+			} finally {
+				counters.release(c);
+			}
+		}
 
-	private void ensurePrepared() {
-		if (!prepared || trie == null) prepare();
+		/**
+		 * text 탐지 → c.keywords / c.keywordCounts 앞쪽에 (키워드 id 순) 채우고 개수 반환
+		 */
+		private int evaluate(final CharSequence text, final boolean overMin, final Counters c) {
+			final int touched = automaton.scan(text, c.tokenCounts, c.touched);
+			if (touched == 0) return 0;
+			try {
+				// 탐지된 토큰을 쓰는 키워드만 평가
+				int candidates = 0;
+				final int generation = c.nextGeneration();
+				for (int i = 0; i < touched; i++) {
+					for (int k : tokenKeywords[c.touched[i]]) {
+						if (c.seen[k] == generation) continue;
+						c.seen[k] = generation;
+						c.keywords[candidates++] = k;
+					}
+				}
+				Arrays.sort(c.keywords, 0, candidates);
+
+				int hits = 0;
+				for (int i = 0; i < candidates; i++) {
+					final int k = c.keywords[i];
+					int count = Integer.MAX_VALUE; // 복합 키워드 = 각 토큰 건수의 최소값
+					for (int t : keywordTokens[k]) count = Math.min(count, c.tokenCounts[t]);
+					if (count <= 0 || (overMin && count < minCounts[k])) continue;
+					c.keywords[hits] = k;
+					c.keywordCounts[hits++] = count;
+				}
+				return hits;
+			} finally {
+				for (int i = 0; i < touched; i++) c.tokenCounts[c.touched[i]] = 0;
+			}
+		}
 	}
 
 	/**
-	 * AC로부터 토큰(정규화된 키)별 카운트를 뽑는다.
+	 * 메시지 단위 구간별 탐지 (본문, 첨부 이름, 첨부 텍스트 등)
+	 * - {@link #add} 로 구간 텍스트를 차례로 넣으면 텍스트마다 minCount 기준으로 평가해 탐지 목록(구간, 키워드, 건수)에 추가하고
+	 *   키워드별 합계(merged)를 처음 탐지된 순서로 함께 쌓는다
+	 * - 풀에서 빌린 재사용 객체이므로 결과를 다 읽은 뒤 {@link #close} 로 반납하고, 반납 후에는 사용하지 않는다
 	 */
-	private Map<String, Integer> emitTokenCounts(String normalizedText) {
-		Map<String, Integer> counts = new HashMap<>();
-		Iterable<Emit> emits = trie.parseText(normalizedText);
-		for (Emit e : emits) {
-			String kw = e.getKeyword();
-			counts.merge(kw, 1, Integer::sum);
-		}
-		return counts;
+	public static final class SectionScan implements AutoCloseable {
+		private final Compiled compiled;
+		private final Counters counters;
+		private int[] hitSection = new int[16];
+		private int[] hitKeyword = new int[16];
+		private int[] hitCount = new int[16];
+		private int size;
+		private final int[] mergedOrder;
+		private final int[] mergedCount;
+		private final int[] mergedSeen;
+		private int mergedSize;
+		private int generation;
+		private boolean open;
+
+		private SectionScan(final Compiled compiled, final Counters counters, final int keywords) {
+			this.compiled = compiled;
+			this.counters = counters;
+			this.mergedOrder = new int[keywords];
+			this.mergedCount = new int[keywords];
+			this.mergedSeen = new int[keywords];
+		}
+
+		private SectionScan reset() {
+			open = true;
+			size = 0;
+			mergedSize = 0;
+			if (++generation == Integer.MAX_VALUE) {
+				Arrays.fill(mergedSeen, 0);
+				generation = 1;
+			}
+			return this;
+		}
+
+		/**
+		 * @param section 호출자가 정한 구간 번호
+		 * @param text    null 이면 무시
+		 */
+		public SectionScan add(final int section, final CharSequence text) {
+			if (text == null) return this;
+			final int hits = compiled.evaluate(text, true, counters);
+			for (int i = 0; i < hits; i++) {
+				final int k = counters.keywords[i];
+				final int count = counters.keywordCounts[i];
+				if (size == hitKeyword.length) {
+					hitSection = Arrays.copyOf(hitSection, size * 2);
+					hitKeyword = Arrays.copyOf(hitKeyword, size * 2);
+					hitCount = Arrays.copyOf(hitCount, size * 2);
+				}
+				hitSection[size] = section;
+				hitKeyword[size] = k;
+				hitCount[size++] = count;
+
+				if (mergedSeen[k] != generation) {
+					mergedSeen[k] = generation;
+					mergedCount[k] = 0;
+					mergedOrder[mergedSize++] = k;
+				}
+				mergedCount[k] += count;
+			}
+			return this;
+		}
+
+		/**
+		 * 탐지 목록 크기 (구간 텍스트별 탐지 키워드 수의 합)
+		 */
+		public int size() {
+			return size;
+		}
+
+		public int section(final int i) {
+			return hitSection[i];
+		}
+
+		public String name(final int i) {
+			return compiled.names[hitKeyword[i]];
+		}
+
+		public int count(final int i) {
+			return hitCount[i];
+		}
+
+		/**
+		 * 키워드별 합계 개수
+		 */
+		public int mergedSize() {
+			return mergedSize;
+		}
+
+		public String mergedName(final int i) {
+			return compiled.names[mergedOrder[i]];
+		}
+
+		public int mergedCount(final int i) {
+			return mergedCount[mergedOrder[i]];
+		}
+
+		/**
+		 * 카운터를 풀에 반납 (중복 호출 무시)
+		 */
+		@Override
+		public void close() {
+			if (!open) return;
+			open = false;
+			compiled.counters.release(counters);
+		}
 	}
 
 	/**
-	 * 입력 표준화: ignoreCase=true면 lower-case, 공백 정규화
+	 * 재사용 카운터 (빌린 쪽만 사용, 호출마다 사용한 칸만 0 으로 되돌린다)
 	 */
-	private String normalize(String s) {
-		String x = safeTrim(s);
-		if (ignoreCase) x = x.toLowerCase(Locale.ROOT);
-		return x;
-	}
+	private static final class Counters {
+		private final int[] tokenCounts;
+		private final int[] touched;
+		private final int[] keywords;
+		private final int[] keywordCounts;
+		private final int[] seen;
+		private int generation;
+		private SectionScan sections;
+
+		private Counters(final int tokens, final int keywords) {
+			this.tokenCounts = new int[tokens];
+			this.touched = new int[tokens];
+			this.keywords = new int[keywords];
+			this.keywordCounts = new int[keywords];
+			this.seen = new int[keywords];
+		}
 
-	private String safeTrim(String s) {
-		return s == null ? "" : s.trim();
+		private int nextGeneration() {
+			if (++generation == Integer.MAX_VALUE) {
+				Arrays.fill(seen, 0);
+				generation = 1;
+			}
+			return generation;
+		}
 	}
 
 	// ========== DTO ==========
@@ -232,7 +417,6 @@ public class KeywordMatcher implements Serializable {
 	// ========== 간단한 사용 예시 ==========
 	public static void main(String[] args) {
 		KeywordMatcher k = new KeywordMatcher();
-		k.setIgnoreOverlaps(false);
 		k.setIgnoreCase(true);
 		// k.setOnlyWholeWordsWhiteSpaceSeparated(false);
 
@@ -0,0 +1,95 @@
+package com.xcurenet.common.file;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
+
+/**
+ * DirectoryStream 기반 디렉토리 순회기.
+ * 항목마다 속성을 한 번만 읽어(stat 1회) 종류/크기/수정시각/권한을 함께 전달한다.
+ * POSIX 파일시스템에서는 {@link PosixFileAttributes}, 그 외에는 {@link BasicFileAttributes} 를 전달한다.
+ * <p>
+ * 깊이 규칙은 commons-io DirectoryWalker 와 같다: 시작 디렉토리가 0, 자식 깊이가 depthLimit 이하일 때만 목록을 읽는다.
+ */
+public abstract class AttributeDirectoryWalker {
+
+	private static final Class<? extends BasicFileAttributes> ATTRIBUTE_TYPE = FileSystems.getDefault().supportedFileAttributeViews().contains("posix") ? PosixFileAttributes.class : BasicFileAttributes.class;
+
+	private final int depthLimit;
+
+	protected AttributeDirectoryWalker(final int depthLimit) {
+		this.depthLimit = depthLimit;
+	}
+
+	/**
+	 * 경로의 속성을 한 번에 읽는다. 사라졌거나 읽을 수 없으면 null.
+	 */
+	public static BasicFileAttributes readAttributes(final Path path) {
+		try {
+			return Files.readAttributes(path, ATTRIBUTE_TYPE);
+		} catch (IOException | UnsupportedOperationException e) {
+			return null;
+		}
+	}
+
+	public void walk(final Path startDirectory) throws IOException {
+		final BasicFileAttributes attrs = readAttributes(startDirectory);
+		if (attrs == null || !attrs.isDirectory()) {
+			throw new IOException("Not a directory: " + startDirectory);
+		}
+		walk(startDirectory, attrs, 0);
+	}
+
+	private void walk(final Path directory, final BasicFileAttributes attrs, final int depth) throws IOException {
+		if (isCancelled()) return;
+		if (!handleDirectory(directory, attrs, depth)) return;
+
+		final int childDepth = depth + 1;
+		if (depthLimit >= 0 && childDepth > depthLimit) return;
+
+		int children = 0;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path child : stream) {
+				if (isCancelled()) return;
+				children++;
+				final BasicFileAttributes childAttrs = readAttributes(child);
+				if (childAttrs == null) continue;
+				if (childAttrs.isDirectory()) {
+					walk(child, childAttrs, childDepth);
+				} else {
+					handleFile(child, childAttrs, childDepth);
+				}
+			}
+		} catch (IOException e) {
+			handleDirectoryFailed(directory, e);
+			return;
+		}
+		handleDirectoryEnd(directory, attrs, depth, children);
+	}
+
+	/**
+	 * 디렉토리 진입 전 호출. false 를 반환하면 하위를 읽지 않는다.
+	 */
+	protected boolean handleDirectory(final Path directory, final BasicFileAttributes attrs, final int depth) {
+		return true;
+	}
+
+	/**
+	 * 디렉토리 목록을 모두 읽은 뒤 호출 (children: 자식 항목 수)
+	 */
+	protected void handleDirectoryEnd(final Path directory, final BasicFileAttributes attrs, final int depth, final int children) {
+	}
+
+	protected void handleDirectoryFailed(final Path directory, final IOException e) {
+	}
+
+	protected boolean isCancelled() {
+		return false;
+	}
+
+	protected abstract void handleFile(Path file, BasicFileAttributes attrs, int depth);
+}
@@ -37,12 +37,15 @@ public class GeoASNLocation {
 	}
 
 	private String checkASNForIp(IP ip) throws IOException, GeoIp2Exception {
-		if (isPrivateIp(ip.toString())) return null;
-		InetAddress ipAddress = InetAddress.getByName(ip.toString());
+		if (isPrivateIp(ip)) return null;
+		InetAddress ipAddress = ip.toInetAddress();
 		return databaseASNReader.asn(ipAddress).getAutonomousSystemOrganization();
 	}
 
-	private boolean isPrivateIp(String ip) {
-		return ip.startsWith("0.") || ip.startsWith("192.") || ip.startsWith("10.") || ip.startsWith("192.168.") || (ip.startsWith("172.") && Integer.parseInt(ip.split("\\.")[1]) >= 16 && Integer.parseInt(ip.split("\\.")[1]) <= 31);
+	private boolean isPrivateIp(IP ip) {
+		if (ip.isIPv6()) return false;
+		final int a = GeoLocation.octet(ip, 0);
+		final int b = GeoLocation.octet(ip, 1);
+		return a == 0 || a == 192 || a == 10 || (a == 172 && b >= 16 && b <= 31);
 	}
 }
@@ -51,7 +51,7 @@ public class GeoLocation {
 			Location location = checkLocationForIp(ip, defaultLat, defaultLng);
 			if (location != null) return location;
 
-			InetAddress ipAddress = InetAddress.getByName(ip.toString());
+			InetAddress ipAddress = ip.toInetAddress();
 			CityResponse city = databaseCityReader.city(ipAddress);
 			if (city.getLocation().getLatitude() != null) return city.getLocation();
 		} catch (Exception e) {
@@ -73,10 +73,10 @@ public class GeoLocation {
 	}
 
 	private String checkCountryForIp(IP ip) {
-		if (isPrivateIp(ip.toString())) return "LX";
+		if (isPrivateIp(ip)) return "LX";
 
 		try {
-			InetAddress ipAddress = InetAddress.getByName(ip.toString());
+			InetAddress ipAddress = ip.toInetAddress();
 			CountryResponse response = dbReader.country(ipAddress);
 			if (response.getCountry().getIsoCode() != null) return response.getCountry().getIsoCode();
 		} catch (Exception e) {
@@ -85,17 +85,24 @@ public class GeoLocation {
 		return "EN";
 	}
 
-	private boolean isPrivateIp(String ip) {
-		return ip.startsWith("0.") || ip.startsWith("127.") || ip.startsWith("192.") || ip.startsWith("10.") || ip.startsWith("192.168.") || (ip.startsWith("172.") && Integer.parseInt(ip.split("\\.")[1]) >= 16 && Integer.parseInt(ip.split("\\.")[1]) <= 31);
+	private boolean isPrivateIp(IP ip) {
+		if (ip.isIPv6()) return false;
+		final int a = octet(ip, 0);
+		final int b = octet(ip, 1);
+		return a == 0 || a == 127 || a == 192 || a == 10 || (a == 172 && b >= 16 && b <= 31);
+	}
+
+	static int octet(IP ip, int index) {
+		return (int) (ip.getLow() >>> (24 - 8 * index)) & 0xff;
 	}
 
 	private Location checkLocationForIp(IP ip, Double defaultLat, Double defaultLng) {
-		if (isPrivateIp(ip.toString())) return new Location(0, 0, defaultLat, defaultLng, 0, 0, null);
-		return isLocationIp(ip.toString());
+		if (isPrivateIp(ip)) return new Location(0, 0, defaultLat, defaultLng, 0, 0, null);
+		return isLocationIp(ip);
 	}
 
-	private Location isLocationIp(String ip) {
-		if (ip.startsWith("172.64") || ip.startsWith("160.79"))
+	private Location isLocationIp(IP ip) {
+		if (ip.isIPv4() && ((octet(ip, 0) == 172 && octet(ip, 1) == 64) || (octet(ip, 0) == 160 && octet(ip, 1) == 79)))
 			return new Location(0, 0, EN_LATITUDE, EN_LONGITUDE, 0, 0, null);
 		return null;
 	}
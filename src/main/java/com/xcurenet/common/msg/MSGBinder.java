@@ -0,0 +1,205 @@
+package com.xcurenet.common.msg;
+
+import com.xcurenet.common.types.AttachExtension;
+import com.xcurenet.common.types.EMail;
+import com.xcurenet.common.types.IP;
+import com.xcurenet.common.utils.Common;
+import com.xcurenet.common.utils.DateUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * .MSG 키 → {@link MSGData} setter 직접 바인딩 (리플렉션 없음)
+ * - 키 문자열로 바로 setter/변환기를 찾는다 (필드 순회, setAccessible, 어노테이션 조회, 타입 분기 없음)
+ * - 한 필드에 키가 여러 개면 {@link FieldKey} 선언 순서가 우선 (예: SENDER > FROM > SEND_ID)
+ * - 클래스 로딩 시 한 번 {@link FieldKey} 선언과 바인딩 표가 일치하는지 검사한다 (필드 추가 시 누락 방지)
+ */
+public final class MSGBinder {
+
+	@FunctionalInterface
+	interface Setter {
+		void set(MSGData data, Object value) throws IOException;
+	}
+
+	@FunctionalInterface
+	private interface Converter<T> {
+		T convert(String value) throws IOException;
+	}
+
+	private record Slot(int field, int priority, Setter setter) {
+	}
+
+	private static final Map<String, Slot> SLOTS = new HashMap<>();
+	private static int fields;
+
+	static {
+		bind(text(MSGData::setSvcKind), "SVCKIND");
+		bind(value(MSGData::setCtime, DateUtils::parseDateTime), "CTIME");
+		bind(value(MSGData::setSourceIp, IP::of), "SOURCEIP");
+		bind(value(MSGData::setSourcePort, Integer::parseInt), "SOURCEPORT");
+		bind(value(MSGData::setDestinationIp, IP::of), "DESTINATIONIP");
+		bind(text(MSGData::setHost), "HOST");
+		bind(text(MSGData::setUrl), "URL");
+		bind(text(MSGData::setQuery), "URL_PARAMS");
+		bind(text(MSGData::setHeader), "HDRFILE");
+		bind(text(MSGData::setMsgFile), "MSGFILE");
+		bind(value(MSGData::setBodySize, Integer::parseInt), "MSGSIZE");
+		bind(text(MSGData::setBodyCharset), "CHARSET");
+		bind(value(MSGData::setFrom, EMail::parse), "SENDER", "FROM", "SEND_ID");
+		bind(list(MSGData::setTo, EMail::parse), "TO");
+		bind(list(MSGData::setCc, EMail::parse), "CC");
+		bind(list(MSGData::setBcc, EMail::parse), "BCC");
+		bind(text(MSGData::setSubject), "SUBJECT");
+		bind(text(MSGData::setProtocol), "PROTOCOL");
+		bind(text(MSGData::setSvc), "STYPE");
+		bind(texts(MSGData::setPcFile), "PCFILE", "ORG_FNAME");
+		bind(texts(MSGData::setAppFile), "APPFILE", "SERVER_FNAME");
+		bind(list(MSGData::setExtension, AttachExtension::new), "EXTENSION");
+		bind(texts(MSGData::setFLink), "FLINK");
+		bind(texts(MSGData::setFLinkKey), "FLINKKEY");
+		bind(texts(MSGData::setFSize), "FSIZE");
+		bind(texts(MSGData::setBodyImage), "ISBODYIMAGE");
+		bind(text(MSGData::setEpHeader), "EPHEADER");
+		bind(text(MSGData::setEpMsgType), "EPMSG_TYPE");
+		bind(text(MSGData::setAction), "ACTION");
+		bind(text(MSGData::setResult), "RESULT");
+		bind(text(MSGData::setOpinion), "OPINION");
+		bind(text(MSGData::setMsgKey), "MSGKEY", "X-MTR", "MESSAGE_ID");
+		bind(text(MSGData::setRootMtr), "ROOTMTR");
+		bind(text(MSGData::setParentMtr), "PARENTMTR");
+		bind(text(MSGData::setSlinkey), "SLINKEY");
+		bind(texts(MSGData::setVlinkey), "VLINKEY");
+		bind(text(MSGData::setPassword), "PASSWORD");
+		bind(value(MSGData::setUserIp, MSGBinder::userIp), "USERIP");
+		bind(text(MSGData::setLoginId), "USER", "LOGIN_ID");
+		bind(value(MSGData::setReProcess, Integer::parseInt), "REPROCESS");
+		verify();
+	}
+
+	private MSGBinder() {
+	}
+
+	/**
+	 * 파싱 1건의 바인딩 상태 (키별 우선순위 선택 후 {@link #apply} 에서 한 번만 변환/설정)
+	 */
+	public static final class Session {
+		private final Slot[] chosen = new Slot[fields];
+		private final Object[] values = new Object[fields];
+
+		/**
+		 * 같은 필드에 우선순위가 같거나 높은 키가 오면 교체 (같은 키가 반복되면 마지막 값, 이전 Map.put 과 같음)
+		 */
+		public void put(final String key, final Object value) {
+			final Slot slot = SLOTS.get(key);
+			if (slot == null) return;
+			final Slot current = chosen[slot.field];
+			if (current == null || slot.priority <= current.priority) {
+				chosen[slot.field] = slot;
+				values[slot.field] = value;
+			}
+		}
+
+		/**
+		 * 배열 키(KEY[index]) 값 적재. 같은 필드에 우선순위가 더 높은 키가 오면 목록을 새로 시작한다.
+		 */
+		public void putIndexed(final String key, final int index, final String value) {
+			final Slot slot = SLOTS.get(key);
+			if (slot == null) return;
+			final Slot current = chosen[slot.field];
+			if (current != null && current.priority < slot.priority) return;
+
+			List<String> list = current == slot && values[slot.field] instanceof List<?> ? castList(values[slot.field]) : null;
+			if (list == null) {
+				list = new ArrayList<>();
+				chosen[slot.field] = slot;
+				values[slot.field] = list;
+			}
+			while (list.size() <= index) list.add(null);
+			list.set(index, value);
+		}
+
+		public MSGData apply(final MSGData data) throws IOException {
+			for (int i = 0; i < chosen.length; i++) {
+				if (chosen[i] != null) chosen[i].setter.set(data, values[i]);
+			}
+			return data;
+		}
+	}
+
+	public static Session session() {
+		return new Session();
+	}
+
+	public static boolean isBound(final String key) {
+		return SLOTS.containsKey(key);
+	}
+
+	/**
+	 * key → value(String 또는 배열 키의 List) 맵을 MSGData 로 변환
+	 */
+	public static MSGData bind(final Map<String, Object> keyValueMap) throws IOException {
+		final Session session = new Session();
+		for (Map.Entry<String, Object> e : keyValueMap.entrySet()) session.put(e.getKey(), e.getValue());
+		return session.apply(new MSGData());
+	}
+
+	private static void bind(final Setter setter, final String... keys) {
+		final int field = fields++;
+		for (int i = 0; i < keys.length; i++) {
+			if (SLOTS.put(keys[i], new Slot(field, i, setter)) != null) throw new IllegalStateException("duplicate MSG key " + keys[i]);
+		}
+	}
+
+	private static Setter text(final BiConsumer<MSGData, String> setter) {
+		return (data, value) -> setter.accept(data, (String) value);
+	}
+
+	private static <T> Setter value(final BiConsumer<MSGData, T> setter, final Converter<T> converter) {
+		return (data, value) -> setter.accept(data, converter.convert(Common.nvl(value)));
+	}
+
+	private static Setter texts(final BiConsumer<MSGData, List<String>> setter) {
+		return (data, value) -> setter.accept(data, new ArrayList<>(castList(value)));
+	}
+
+	private static <T> Setter list(final BiConsumer<MSGData, List<T>> setter, final Converter<T> converter) {
+		return (data, value) -> {
+			final List<String> items = castList(value);
+			final List<T> result = new ArrayList<>(items.size());
+			for (String item : items) result.add(converter.convert(Common.nvl(item)));
+			setter.accept(data, result);
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<String> castList(final Object value) {
+		return (List<String>) value;
+	}
+
+	private static IP userIp(final String value) throws IOException {
+		if ("unknown".equals(value)) return new IP(value);
+		return IP.create(StringUtils.split(value, ":, ")[0]);
+	}
+
+	/**
+	 * {@link FieldKey} 선언과 바인딩 표 일치 검사 (클래스 로딩 시 1회)
+	 */
+	private static void verify() {
+		final Set<String> declared = new HashSet<>();
+		for (Field field : MSGData.class.getDeclaredFields()) {
+			final FieldKey key = field.getAnnotation(FieldKey.class);
+			if (key == null) continue;
+			final String[] keys = key.value();
+			for (int i = 0; i < keys.length; i++) {
+				final Slot slot = SLOTS.get(keys[i]);
+				if (slot == null || slot.priority != i) throw new IllegalStateException("MSGBinder mapping out of date: " + field.getName() + " / " + keys[i]);
+				declared.add(keys[i]);
+			}
+		}
+		if (!declared.equals(SLOTS.keySet())) throw new IllegalStateException("MSGBinder maps undeclared keys: " + SLOTS.keySet());
+	}
+}
@@ -0,0 +1,140 @@
+package com.xcurenet.common.msg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * INFO(.MSG) 바이트 스트림 파서 (1회 통과)
+ * - 고정 버퍼로 읽으면서 줄 단위로 키/값을 잘라 {@link MSGBinder.Session} 에 바로 넣는다
+ *   (전체 String, BufferedReader, split, 정규식, 중간 Map 없음)
+ * - 바인딩 대상이 아닌 키는 값을 디코딩하지 않는다
+ * - 줄 형식: "[SVCKIND]" / "KEY: VALUE" / "KEY[index]: VALUE" (앞뒤 공백 제거, CRLF 허용)
+ * - raw 가 주어지면 원문 바이트를 함께 복사한다 (디버그 용도)
+ */
+final class MSGStreamParser {
+	private static final int BUFFER_SIZE = 8192;
+
+	private byte[] line = new byte[256];
+	private int length;
+
+	private MSGStreamParser() {
+	}
+
+	static MSGData parse(final InputStream in, final ByteArrayOutputStream raw) throws IOException {
+		final MSGBinder.Session session = MSGBinder.session();
+		new MSGStreamParser().read(in, raw, session);
+		return session.apply(new MSGData());
+	}
+
+	private void read(final InputStream in, final ByteArrayOutputStream raw, final MSGBinder.Session session) throws IOException {
+		final byte[] buf = new byte[BUFFER_SIZE];
+		int n;
+		while ((n = in.read(buf)) != -1) {
+			if (raw != null) raw.write(buf, 0, n);
+			for (int i = 0; i < n; i++) {
+				final byte b = buf[i];
+				if (b == '\n') {
+					line(session);
+					length = 0;
+				} else {
+					append(b);
+				}
+			}
+		}
+		if (length > 0) line(session);
+	}
+
+	private void append(final byte b) {
+		if (length == line.length) line = Arrays.copyOf(line, length * 2);
+		line[length++] = b;
+	}
+
+	private void line(final MSGBinder.Session session) {
+		int start = 0;
+		int end = length;
+		if (end > 0 && line[end - 1] == '\r') end--;
+
+		// [SVCKIND] (원문 그대로 괄호 안 전체)
+		if (end - start >= 2 && line[start] == '[' && line[end - 1] == ']') {
+			session.put("SVCKIND", new String(line, start + 1, end - start - 2, StandardCharsets.UTF_8));
+			return;
+		}
+
+		int colon = -1;
+		for (int i = start; i < end; i++) {
+			if (line[i] == ':') {
+				colon = i;
+				break;
+			}
+		}
+		if (colon < 0) return;
+
+		int keyStart = skipSpace(start, colon);
+		int keyEnd = trimSpace(keyStart, colon);
+		if (keyEnd <= keyStart) return;
+
+		// KEY[index]
+		int index = -1;
+		if (line[keyEnd - 1] == ']' && line[keyStart] != '[') {
+			final int open = lastIndexOf('[', keyStart, keyEnd - 1);
+			if (open > keyStart && open < keyEnd - 2 && isDigits(open + 1, keyEnd - 1)) {
+				index = parseIndex(open + 1, keyEnd - 1);
+				int nameStart = open;
+				while (nameStart > keyStart && isWordChar(line[nameStart - 1])) nameStart--; // \w+ 부분만 키로 사용
+				if (nameStart < open) {
+					keyStart = nameStart;
+					keyEnd = open;
+				} else {
+					index = -1;
+				}
+			}
+		}
+
+		final String key = new String(line, keyStart, keyEnd - keyStart, StandardCharsets.ISO_8859_1);
+		if (!MSGBinder.isBound(key)) return;
+
+		final int valueStart = skipSpace(colon + 1, end);
+		final int valueEnd = trimSpace(valueStart, end);
+		final String value = new String(line, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+		if (index >= 0) session.putIndexed(key, index, value);
+		else session.put(key, value);
+	}
+
+	private int skipSpace(int from, final int to) {
+		while (from < to && (line[from] & 0xff) <= ' ') from++;
+		return from;
+	}
+
+	private int trimSpace(final int from, int to) {
+		while (to > from && (line[to - 1] & 0xff) <= ' ') to--;
+		return to;
+	}
+
+	private int lastIndexOf(final char c, final int from, final int to) {
+		for (int i = to - 1; i >= from; i--) {
+			if (line[i] == c) return i;
+		}
+		return -1;
+	}
+
+	private boolean isDigits(final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			if (line[i] < '0' || line[i] > '9') return false;
+		}
+		return to > from;
+	}
+
+	private int parseIndex(final int from, final int to) {
+		if (to - from > 9) throw new NumberFormatException("array index too long: " + new String(line, from, to - from, StandardCharsets.ISO_8859_1));
+		int v = 0;
+		for (int i = from; i < to; i++) v = v * 10 + (line[i] - '0');
+		return v;
+	}
+
+	private static boolean isWordChar(final byte b) {
+		return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_';
+	}
+}
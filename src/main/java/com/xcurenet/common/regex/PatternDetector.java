@@ -1,44 +1,161 @@
 package com.xcurenet.common.regex;
 
+import com.xcurenet.common.ahocorasick.KeywordAutomaton;
+import com.xcurenet.common.utils.ScratchPool;
 import lombok.extern.log4j.Log4j2;
 
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * 사용자 정규식 일괄 탐지 (사전 필터 + 구간 검사)
+ * - 로드 시 패턴마다 필수 리터럴 / 글자 집합과 매치 최대 길이를 구한다 ({@link RegexPrefilter})
+ * - 본문은 1회만 훑는다: 전체 패턴의 리터럴은 Aho-Corasick, 글자 집합은 글자 → 패턴 비트 표로 동시에 후보 위치를 찾는다
+ * - 후보 ± 최대 길이 구간(겹치면 병합)에서만 원래 정규식을 돌린다 (투명/비고정 경계라 전후 문맥, ^ $ \b 판단은 전체 본문과 같다)
+ * - 후보가 없는 패턴은 건너뛰고, 최대 길이 제한이 없으면 후보가 있을 때만 전체 검사, 분석이 안 되는 패턴은 항상 전체 검사
+ * - 결과(위치, 순서, 최대 건수, minCount)는 패턴별 전체 검사와 같다
+ */
 @Log4j2
 public class PatternDetector {
+	private static final int MAX_MATCHES = 999;
+	private static final int MAX_CLASS_PATTERNS = Long.SIZE;
 
 	private final Map<String, DetectOptions> patternMap;
+	private final String[] keys;
+	private final DetectOptions[] options;
+	private final int[] maxLength;
+	private final boolean[] filtered;
+
+	private final KeywordAutomaton literals; // 리터럴 필터 패턴이 없으면 null
+	private final int[][] tokenPatterns;
+	private final long[] classMasks; // 글자 → 글자 집합 필터 패턴 비트, 없으면 null
+	private final int[] classPatterns;
+	private final ScratchPool<Windows> windows;
 
 	public PatternDetector(Map<String, DetectOptions> compiled) {
 		this.patternMap = Collections.unmodifiableMap(new LinkedHashMap<>(compiled));
+		final int size = patternMap.size();
+		this.keys = new String[size];
+		this.options = new DetectOptions[size];
+		this.maxLength = new int[size];
+		this.filtered = new boolean[size];
+
+		final Map<String, List<Integer>> tokens = new LinkedHashMap<>();
+		final long[] masks = new long[Character.MAX_VALUE + 1];
+		final int[] bits = new int[MAX_CLASS_PATTERNS];
+		int classCount = 0;
+		int i = 0;
+		for (Map.Entry<String, DetectOptions> e : patternMap.entrySet()) {
+			keys[i] = e.getKey();
+			options[i] = e.getValue();
+			RegexPrefilter f = RegexPrefilter.analyze(e.getValue().getCompile());
+			if (f.literals == null && f.chars != null && classCount == MAX_CLASS_PATTERNS) f = RegexPrefilter.NONE;
+			maxLength[i] = f.maxLength;
+			filtered[i] = f.isFiltered();
+			if (f.literals != null) {
+				for (String literal : f.literals) {
+					final List<Integer> list = tokens.computeIfAbsent(fold(literal), k -> new ArrayList<>());
+					if (list.isEmpty() || list.get(list.size() - 1) != i) list.add(i);
+				}
+			} else if (f.chars != null) {
+				final long bit = 1L << classCount;
+				for (int c = f.chars.nextSetBit(0); c >= 0; c = f.chars.nextSetBit(c + 1)) masks[c] |= bit;
+				bits[classCount++] = i;
+			}
+			log.info("INFO_LOAD | Pattern Prefilter: {} | {}", keys[i], f);
+			i++;
+		}
+
+		this.literals = tokens.isEmpty() ? null : new KeywordAutomaton(new ArrayList<>(tokens.keySet()), true, false);
+		this.tokenPatterns = tokens.values().stream().map(l -> l.stream().mapToInt(Integer::intValue).toArray()).toArray(int[][]::new);
+		this.classMasks = classCount == 0 ? null : masks;
+		this.classPatterns = Arrays.copyOf(bits, classCount);
+		this.windows = new ScratchPool<>(() -> new Windows(size));
 	}
 
 	/**
 	 * 전체 키에 대해 탐지 실행
-	 * - 모든 매치를 수집(limit=0)
+	 * - 키별 최대 999건 수집
 	 * - 수집된 개수가 minCount(임계치) 이상일 때만 out에 포함
 	 */
 	public Map<String, List<MatchResult>> detectAll(String text) {
 		Objects.requireNonNull(text, "text");
 
-		Map<String, List<MatchResult>> out = new LinkedHashMap<>();
-		for (Map.Entry<String, DetectOptions> e : patternMap.entrySet()) {
-			String key = e.getKey();
-			DetectOptions opt = e.getValue();
-			Pattern p = opt.getCompile();
+		final Windows w = windows.borrow();
+		try {
+			scan(text, w);
 
-			// ✅ 전체 탐지: limit=0 (무제한)
-			List<MatchResult> matches = findAll(text, p, 999);
+			Map<String, List<MatchResult>> out = new LinkedHashMap<>();
+			for (int i = 0; i < keys.length; i++) {
+				final Pattern p = options[i].getCompile();
+				final List<MatchResult> matches;
+				if (!filtered[i] || w.isWholeText(i, text.length())) matches = findAll(text, p, MAX_MATCHES);
+				else if (w.count[i] == 0) continue;
+				else matches = findInWindows(text, p, w.ranges[i], w.count[i], MAX_MATCHES);
 
-			// ✅ 임계치(minCount) 적용: 미만이면 제외
-			int minCount = Math.max(0, opt.getMinCount());
-			if (!matches.isEmpty() && matches.size() >= minCount) {
-				out.put(key, matches);
+				// ✅ 임계치(minCount) 적용: 미만이면 제외
+				int minCount = Math.max(0, options[i].getMinCount());
+				if (!matches.isEmpty() && matches.size() >= minCount) {
+					out.put(keys[i], matches);
+				}
 			}
+			return out;
+		} finally {
+			windows.release(w);
 		}
-		return out;
+	}
+
+	/**
+	 * 본문 1회 통과로 패턴별 검사 구간 수집
+	 */
+	private void scan(final String text, final Windows w) {
+		final int length = text.length();
+		w.reset();
+		if (literals == null && classMasks == null) return;
+		int state = literals == null ? 0 : literals.start();
+		for (int pos = 0; pos < length; pos++) {
+			final char c = text.charAt(pos);
+			if (literals != null) {
+				state = literals.next(state, c);
+				for (int o = literals.firstOutput(state); o > 0; o = literals.nextOutput(o)) {
+					final int token = literals.token(o);
+					final int from = pos + 1 - literals.tokenLength(token);
+					for (int p : tokenPatterns[token]) w.hit(p, from, pos + 1, maxLength[p], length);
+				}
+			}
+			if (classMasks != null) {
+				long mask = classMasks[c];
+				while (mask != 0) {
+					final int p = classPatterns[Long.numberOfTrailingZeros(mask)];
+					w.hit(p, pos, pos + 1, maxLength[p], length);
+					mask &= mask - 1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 구간(오름차순, 서로 겹치지 않음)에서만 찾되 전체 본문에서 find() 를 반복한 것과 같은 결과
+	 * - 모든 매치는 후보를 포함하고 길이가 최대 길이 이하라 어느 한 구간 안에 온전히 들어간다
+	 * - 투명 경계: 전후방 탐색/\b 가 구간 밖 글자를 본다, 비고정 경계: 구간 끝을 ^ $ 로 보지 않는다
+	 */
+	static List<MatchResult> findInWindows(String text, Pattern pattern, int[] ranges, int count, int max) {
+		List<MatchResult> list = new ArrayList<>();
+		Matcher m = pattern.matcher(text).useTransparentBounds(true).useAnchoringBounds(false);
+		int next = 0;
+		for (int k = 0; k < count; k++) {
+			final int start = Math.max(ranges[2 * k], next);
+			final int end = ranges[2 * k + 1];
+			if (start >= end) continue;
+			m.region(start, end);
+			while (m.find()) {
+				list.add(new MatchResult(m.start(), m.end(), m.group(), Collections.emptyMap()));
+				if (max > 0 && list.size() >= max) return list;
+				next = m.end();
+			}
+		}
+		return list;
 	}
 
 	public static List<MatchResult> findAll(String text, Pattern pattern, int max) {
@@ -51,6 +168,15 @@ public class PatternDetector {
 		return list;
 	}
 
+	/**
+	 * {@link KeywordAutomaton} 의 ignoreCase 와 같은 글자 단위 소문자 (같은 토큰 중복 제거용)
+	 */
+	private static String fold(final String s) {
+		final char[] chars = s.toCharArray();
+		for (int i = 0; i < chars.length; i++) chars[i] = Character.toLowerCase(chars[i]);
+		return new String(chars);
+	}
+
 	/**
 	 * 번호 기반 그룹만 추출 (명명 그룹 사용 시 필요에 맞게 확장)
 	 */
@@ -63,4 +189,48 @@ public class PatternDetector {
 		}
 		return g;
 	}
+
+	/**
+	 * 패턴 검사 구간 [시작, 끝) 목록, {@link ScratchPool} 에서 빌려 쓴다 (후보 순서로 들어와 시작 위치가 오름차순 → 마지막 구간과만 병합)
+	 */
+	private static final class Windows {
+		private static final int RETAIN_RANGES = 8192;
+
+		final int[][] ranges;
+		final int[] count;
+
+		Windows(final int size) {
+			this.ranges = new int[size][16];
+			this.count = new int[size];
+		}
+
+		void reset() {
+			for (int p = 0; p < ranges.length; p++) {
+				count[p] = 0;
+				if (ranges[p].length > RETAIN_RANGES) ranges[p] = new int[16];
+			}
+		}
+
+		/**
+		 * 후보 [from, to) 를 포함하는 매치가 있을 수 있는 구간 추가 (최대 길이 제한이 없으면 본문 전체)
+		 */
+		void hit(final int p, final int from, final int to, final int maxLength, final int length) {
+			final int start = maxLength == RegexPrefilter.UNBOUNDED ? 0 : Math.max(0, to - maxLength);
+			final int end = maxLength == RegexPrefilter.UNBOUNDED ? length : (int) Math.min(length, (long) from + maxLength);
+			final int n = count[p];
+			int[] r = ranges[p];
+			if (n > 0 && start <= r[2 * n - 1]) {
+				if (end > r[2 * n - 1]) r[2 * n - 1] = end;
+				return;
+			}
+			if (2 * n + 2 > r.length) ranges[p] = r = Arrays.copyOf(r, r.length * 2);
+			r[2 * n] = start;
+			r[2 * n + 1] = end;
+			count[p] = n + 1;
+		}
+
+		boolean isWholeText(final int p, final int length) {
+			return count[p] == 1 && ranges[p][0] == 0 && ranges[p][1] == length;
+		}
+	}
 }
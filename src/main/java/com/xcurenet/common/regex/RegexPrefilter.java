@@ -0,0 +1,478 @@
+package com.xcurenet.common.regex;
+
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 정규식 사전 필터 분석 (로드 시 패턴당 1회)
+ * - 모든 매치가 반드시 포함하는 것을 구한다: 리터럴 후보 집합(그중 하나 이상) 또는 글자 집합(그중 한 글자 이상)
+ * - 매치 최대 길이(char 수)를 함께 구해, 후보 위치 ± 최대 길이 구간 밖에는 매치가 없음을 보장한다
+ * - 대소문자는 항상 무시하는 쪽으로 넓게 잡는다 (후보가 늘 뿐 결과는 같다)
+ * - 지원하지 않는 문법(역참조, \G, 중첩 글자 클래스, 주석/유니코드 대소문자 모드 등)은 분석 실패 → 전체 검사
+ */
+final class RegexPrefilter {
+	static final int UNBOUNDED = Integer.MAX_VALUE;
+	static final RegexPrefilter NONE = new RegexPrefilter(null, null, UNBOUNDED);
+
+	private static final int MAX_LITERALS = 64;
+	private static final int MAX_CLASS_CHARS = 4096;
+	private static final int UNSUPPORTED_FLAGS = Pattern.COMMENTS | Pattern.LITERAL | Pattern.CANON_EQ | Pattern.UNICODE_CASE | Pattern.UNICODE_CHARACTER_CLASS;
+
+	/** 리터럴 후보 (원문 글자, 대소문자 접기 전), 없으면 null */
+	final Set<String> literals;
+	/** 글자 후보 (대소문자 변형 포함), 없으면 null */
+	final BitSet chars;
+	/** 매치 최대 길이, 제한이 없으면 UNBOUNDED */
+	final int maxLength;
+
+	private RegexPrefilter(final Set<String> literals, final BitSet chars, final int maxLength) {
+		this.literals = literals;
+		this.chars = chars;
+		this.maxLength = maxLength;
+	}
+
+	static RegexPrefilter analyze(final Pattern pattern) {
+		if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0) return NONE;
+		try {
+			final Parser parser = new Parser(pattern.pattern());
+			final Node node = parser.alternation();
+			if (parser.pos != parser.src.length() || node.req == null) return NONE;
+			return new RegexPrefilter(node.req.literals, node.req.chars, node.max);
+		} catch (UnsupportedOperationException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			return NONE;
+		}
+	}
+
+	boolean isFiltered() {
+		return literals != null || chars != null;
+	}
+
+	@Override
+	public String toString() {
+		final String max = maxLength == UNBOUNDED ? "unbounded" : String.valueOf(maxLength);
+		if (literals != null) return "literals=" + literals + ", maxLength=" + max;
+		if (chars != null) return "chars=" + chars.cardinality() + ", maxLength=" + max;
+		return "full scan";
+	}
+
+	/**
+	 * 필수 조건: literals 중 하나 또는 chars 중 한 글자
+	 */
+	private static final class Req {
+		final Set<String> literals;
+		final BitSet chars;
+
+		private Req(final Set<String> literals, final BitSet chars) {
+			this.literals = literals;
+			this.chars = chars;
+		}
+
+		static Req literal(final String s) {
+			final Set<String> set = new LinkedHashSet<>();
+			set.add(s);
+			return new Req(set, null);
+		}
+
+		static Req chars(final BitSet chars) {
+			addCaseVariants(chars);
+			return chars.isEmpty() || chars.cardinality() > MAX_CLASS_CHARS ? null : new Req(null, chars);
+		}
+
+		/**
+		 * 클수록 후보가 적다 (리터럴 > 글자 집합, 긴 리터럴 / 작은 집합 우선)
+		 */
+		int score() {
+			if (chars != null) return 1000 - chars.cardinality();
+			int min = Integer.MAX_VALUE;
+			for (String s : literals) min = Math.min(min, s.length());
+			return 1000 + 10 * Math.min(min, 50) - literals.size();
+		}
+
+		static Req better(final Req a, final Req b) {
+			if (a == null) return b;
+			if (b == null) return a;
+			return b.score() > a.score() ? b : a;
+		}
+
+		static Req union(final Req a, final Req b) {
+			if (a == null || b == null) return null;
+			if (a.literals != null && b.literals != null && a.literals.size() + b.literals.size() <= MAX_LITERALS) {
+				final Set<String> set = new LinkedHashSet<>(a.literals);
+				set.addAll(b.literals);
+				return new Req(set, null);
+			}
+			final BitSet set = a.firstChars();
+			set.or(b.firstChars());
+			return chars(set);
+		}
+
+		private BitSet firstChars() {
+			if (chars != null) return (BitSet) chars.clone();
+			final BitSet set = new BitSet();
+			for (String s : literals) set.set(s.charAt(0));
+			return set;
+		}
+	}
+
+	/**
+	 * 부분식 분석 결과
+	 */
+	private static final class Node {
+		final int max;
+		final Req req;
+		final String literal; // 수량자 없는 단일 글자면 이어 붙일 수 있도록 보관
+		final boolean zeroWidth;
+
+		Node(final int max, final Req req, final String literal, final boolean zeroWidth) {
+			this.max = max;
+			this.req = req;
+			this.literal = literal;
+			this.zeroWidth = zeroWidth;
+		}
+
+		static Node zero() {
+			return new Node(0, null, null, true);
+		}
+
+		static Node any() {
+			return new Node(2, null, null, false); // 보충 문자(서로게이트 쌍)까지
+		}
+
+		static Node literal(final String s) {
+			return s.isEmpty() ? zero() : new Node(s.length(), Req.literal(s), s, false);
+		}
+	}
+
+	private static final class Parser {
+		final String src;
+		int pos;
+
+		Parser(final String src) {
+			this.src = src;
+		}
+
+		Node alternation() {
+			Node node = sequence();
+			while (pos < src.length() && src.charAt(pos) == '|') {
+				pos++;
+				final Node next = sequence();
+				node = new Node(Math.max(node.max, next.max), Req.union(node.req, next.req), null, false);
+			}
+			return node;
+		}
+
+		Node sequence() {
+			int max = 0;
+			Req best = null;
+			final StringBuilder run = new StringBuilder();
+			while (pos < src.length()) {
+				final char c = src.charAt(pos);
+				if (c == '|' || c == ')') break;
+				Node atom = atom();
+				final int[] q = quantifier();
+				if (q == null && (atom.literal != null || atom.zeroWidth)) {
+					if (atom.literal != null) run.append(atom.literal); // 폭 없는 식은 앞뒤 리터럴을 끊지 않는다
+					max = add(max, atom.max);
+					continue;
+				}
+				if (!run.isEmpty()) best = Req.better(best, Req.literal(run.toString()));
+				run.setLength(0);
+				if (q != null) atom = repeat(atom, q[0], q[1]);
+				max = add(max, atom.max);
+				best = Req.better(best, atom.req);
+			}
+			if (!run.isEmpty()) best = Req.better(best, Req.literal(run.toString()));
+			return new Node(max, best, null, false);
+		}
+
+		private static Node repeat(final Node atom, final int min, final int max) {
+			final int length;
+			if (atom.max == 0) length = 0;
+			else if (max == UNBOUNDED || atom.max == UNBOUNDED) length = UNBOUNDED;
+			else length = (int) Math.min(UNBOUNDED, (long) atom.max * max);
+			return new Node(length, min >= 1 ? atom.req : null, null, false);
+		}
+
+		private static int add(final int a, final int b) {
+			return a == UNBOUNDED || b == UNBOUNDED ? UNBOUNDED : (int) Math.min(UNBOUNDED, (long) a + b);
+		}
+
+		/**
+		 * @return {min, max} 또는 수량자가 없으면 null
+		 */
+		private int[] quantifier() {
+			if (pos >= src.length()) return null;
+			final int[] q;
+			switch (src.charAt(pos)) {
+				case '*' -> q = new int[]{0, UNBOUNDED};
+				case '+' -> q = new int[]{1, UNBOUNDED};
+				case '?' -> q = new int[]{0, 1};
+				case '{' -> {
+					final int close = src.indexOf('}', pos);
+					if (close < 0) throw new UnsupportedOperationException();
+					final String body = src.substring(pos + 1, close);
+					final int comma = body.indexOf(',');
+					if (comma < 0) {
+						final int n = Integer.parseInt(body);
+						q = new int[]{n, n};
+					} else {
+						final String upper = body.substring(comma + 1);
+						q = new int[]{Integer.parseInt(body.substring(0, comma)), upper.isEmpty() ? UNBOUNDED : Integer.parseInt(upper)};
+					}
+					pos = close;
+				}
+				default -> {
+					return null;
+				}
+			}
+			pos++;
+			if (pos < src.length() && (src.charAt(pos) == '?' || src.charAt(pos) == '+')) pos++; // lazy / possessive
+			return q;
+		}
+
+		private Node atom() {
+			final char c = src.charAt(pos++);
+			switch (c) {
+				case '(':
+					return group();
+				case '[':
+					return charClass();
+				case '.':
+					return Node.any();
+				case '^', '$':
+					return Node.zero();
+				case '\\':
+					return escape();
+				case '*', '+', '?', '{':
+					throw new UnsupportedOperationException();
+				default:
+					if (Character.isHighSurrogate(c) && pos < src.length() && Character.isLowSurrogate(src.charAt(pos))) {
+						return Node.literal(src.substring(pos - 1, ++pos));
+					}
+					return Node.literal(String.valueOf(c));
+			}
+		}
+
+		private Node group() {
+			if (src.charAt(pos) != '?') return close(alternation(), false);
+			pos++;
+			final char kind = src.charAt(pos++);
+			switch (kind) {
+				case ':', '>':
+					return close(alternation(), false);
+				case '=', '!':
+					return close(alternation(), true);
+				case '<':
+					if (src.charAt(pos) == '=' || src.charAt(pos) == '!') {
+						pos++;
+						return close(alternation(), true);
+					}
+					pos = src.indexOf('>', pos) + 1; // (?<name>
+					if (pos == 0) throw new UnsupportedOperationException();
+					return close(alternation(), false);
+				default:
+					pos--;
+					while (src.charAt(pos) != ':' && src.charAt(pos) != ')') {
+						if ("idms-".indexOf(src.charAt(pos)) < 0) throw new UnsupportedOperationException(); // x, u, U 등
+						pos++;
+					}
+					if (src.charAt(pos++) == ')') return Node.zero();
+					return close(alternation(), false);
+			}
+		}
+
+		private Node close(final Node inner, final boolean lookaround) {
+			if (src.charAt(pos++) != ')') throw new UnsupportedOperationException();
+			if (lookaround) return Node.zero();
+			return new Node(inner.max, inner.req, null, false);
+		}
+
+		private Node escape() {
+			final char c = src.charAt(pos++);
+			switch (c) {
+				case 'd', 'w', 's':
+					final BitSet set = new BitSet();
+					addShorthand(set, c);
+					return new Node(1, Req.chars(set), null, false);
+				case 'D', 'W', 'S', 'h', 'H', 'v', 'V':
+					return Node.any();
+				case 'p', 'P':
+					skipName();
+					return Node.any();
+				case 'R':
+					return Node.any(); // \r\n 까지 2글자
+				case 'b', 'B':
+					if (pos < src.length() && src.charAt(pos) == '{') throw new UnsupportedOperationException(); // \b{g}
+					return Node.zero();
+				case 'A', 'z', 'Z':
+					return Node.zero();
+				case 'Q':
+					return Node.literal(quoted());
+				default:
+					return Node.literal(new String(Character.toChars(escapedChar(c))));
+			}
+		}
+
+		/**
+		 * 글자 하나를 뜻하는 이스케이프 (\t, \x41, A, \0101, \cA, \. 등)
+		 */
+		private int escapedChar(final char c) {
+			switch (c) {
+				case 't':
+					return '\t';
+				case 'n':
+					return '\n';
+				case 'r':
+					return '\r';
+				case 'f':
+					return '\f';
+				case 'a':
+					return '\u0007';
+				case 'e':
+					return '\u001B';
+				case 'c':
+					return src.charAt(pos++) ^ 64;
+				case '0': {
+					int v = 0;
+					int digits = 0;
+					while (pos < src.length() && digits < 3 && src.charAt(pos) >= '0' && src.charAt(pos) <= '7' && v * 8 + (src.charAt(pos) - '0') <= 0377) {
+						v = v * 8 + (src.charAt(pos++) - '0');
+						digits++;
+					}
+					if (digits == 0) throw new UnsupportedOperationException();
+					return v;
+				}
+				case 'x': {
+					if (src.charAt(pos) == '{') {
+						final int close = src.indexOf('}', pos);
+						final int v = Integer.parseInt(src.substring(pos + 1, close), 16);
+						pos = close + 1;
+						return v;
+					}
+					final int v = Integer.parseInt(src.substring(pos, pos + 2), 16);
+					pos += 2;
+					return v;
+				}
+				case 'u': {
+					final int v = Integer.parseInt(src.substring(pos, pos + 4), 16);
+					pos += 4;
+					return v;
+				}
+				default:
+					if (Character.isLetterOrDigit(c)) throw new UnsupportedOperationException(); // 역참조, \G, \X, \k, \N 등
+					return c;
+			}
+		}
+
+		/**
+		 * [...] : 양의 BMP 글자 집합만 분석, 부정/교집합/중첩/속성 클래스는 임의 글자로 본다
+		 */
+		private Node charClass() {
+			final boolean negate = src.charAt(pos) == '^';
+			if (negate) pos++;
+			if (src.charAt(pos) == ']') throw new UnsupportedOperationException();
+			final BitSet set = new BitSet();
+			boolean unknown = negate;
+			while (true) {
+				final char c = src.charAt(pos++);
+				if (c == ']') break;
+				if (c == '[' || (c == '&' && src.charAt(pos) == '&')) throw new UnsupportedOperationException();
+				final int lo;
+				if (c == '\\') {
+					final char e = src.charAt(pos++);
+					if (e == 'd' || e == 'w' || e == 's') {
+						addShorthand(set, e);
+						continue;
+					}
+					if ("DWShHvV".indexOf(e) >= 0) {
+						unknown = true;
+						continue;
+					}
+					if (e == 'p' || e == 'P') {
+						skipName();
+						unknown = true;
+						continue;
+					}
+					if (e == 'Q') {
+						final String q = quoted();
+						for (int i = 0; i < q.length(); i++) {
+							if (Character.isSurrogate(q.charAt(i))) unknown = true;
+							set.set(q.charAt(i));
+						}
+						continue;
+					}
+					lo = escapedChar(e);
+				} else if (Character.isHighSurrogate(c) && Character.isLowSurrogate(src.charAt(pos))) {
+					lo = Character.toCodePoint(c, src.charAt(pos++));
+				} else {
+					lo = c;
+				}
+				int hi = lo;
+				if (src.charAt(pos) == '-' && src.charAt(pos + 1) != ']') {
+					pos++;
+					final char h = src.charAt(pos++);
+					if (h == '\\') hi = escapedChar(src.charAt(pos++));
+					else if (h == '[') throw new UnsupportedOperationException();
+					else if (Character.isHighSurrogate(h) && Character.isLowSurrogate(src.charAt(pos))) hi = Character.toCodePoint(h, src.charAt(pos++));
+					else hi = h;
+				}
+				if (hi > Character.MAX_VALUE || (lo <= Character.MAX_SURROGATE && hi >= Character.MIN_SURROGATE)) {
+					unknown = true;
+					continue;
+				}
+				set.set(lo, hi + 1);
+			}
+			if (unknown) return Node.any();
+			return new Node(1, Req.chars(set), null, false);
+		}
+
+		private void skipName() {
+			if (src.charAt(pos) == '{') {
+				final int close = src.indexOf('}', pos);
+				if (close < 0) throw new UnsupportedOperationException();
+				pos = close + 1;
+			} else {
+				pos++;
+			}
+		}
+
+		/**
+		 * \Q...\E (닫는 \E 가 없으면 끝까지)
+		 */
+		private String quoted() {
+			final int end = src.indexOf("\\E", pos);
+			final String q = src.substring(pos, end < 0 ? src.length() : end);
+			pos = end < 0 ? src.length() : end + 2;
+			return q;
+		}
+	}
+
+	private static void addShorthand(final BitSet set, final char c) {
+		switch (c) {
+			case 'd' -> set.set('0', '9' + 1);
+			case 'w' -> {
+				set.set('a', 'z' + 1);
+				set.set('A', 'Z' + 1);
+				set.set('0', '9' + 1);
+				set.set('_');
+			}
+			default -> {
+				set.set(' ');
+				set.set('\t', '\r' + 1); // \t \n \x0B \f \r
+			}
+		}
+	}
+
+	/**
+	 * 원래 글자 + Character 대/소문자 변환 결과를 모두 넣는다 (ASCII 대소문자 무시의 상위 집합)
+	 */
+	private static void addCaseVariants(final BitSet set) {
+		final BitSet base = (BitSet) set.clone();
+		for (int c = base.nextSetBit(0); c >= 0; c = base.nextSetBit(c + 1)) {
+			set.set(Character.toLowerCase((char) c));
+			set.set(Character.toUpperCase((char) c));
+		}
+	}
+}
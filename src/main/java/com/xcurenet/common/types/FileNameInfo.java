@@ -2,7 +2,6 @@ package com.xcurenet.common.types;
 
 import lombok.Data;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serial;
@@ -14,6 +13,7 @@ public class FileNameInfo implements Serializable {
 
 	@Serial
 	private static final long serialVersionUID = -6888540790595666821L;
+	private static final int MAX_FIELDS = 10;
 
 	private String prefix;
 	private String ctime;
@@ -27,41 +27,59 @@ public class FileNameInfo implements Serializable {
 	private String decodeHost;
 	private String suffix;
 
+	/**
+	 * 파일명 해석: [prefix]ctime-srcIP-dstIP-srcPort-dstPort[-seq[-cid[-deviceName[-decodeHost[-나머지]]]]][.확장자]
+	 * - '-' 구분자 위치만 한 번 훑어 필드를 자른다 (split/정규식 없음, 포트/순번은 부분 문자열 없이 숫자 해석)
+	 * - IP 는 {@link IP#of} 로 해석 (같은 IP 는 객체 재사용)
+	 */
 	public static FileNameInfo getInfo(final String filePath) throws Exception {
 		final FileNameInfo info = new FileNameInfo();
-		final String filename = FilenameUtils.getName(filePath);
-		final String[] dotSplit = filename.split("\\.", 2);
-		final String[] split = dotSplit[0].split("-", 10);
-		final int startOffset = split[0].indexOf("2");
-		if (startOffset > 0) info.prefix = split[0].substring(0, startOffset);
-		info.ctime = split[0].substring(startOffset);
-		info.srcIP = new IP(split[1]);
-		info.dstIP = new IP(split[2]);
-		info.srcPort = Integer.parseInt(split[3]);
-		info.dstPort = Integer.parseInt(split[4]);
+		final int nameStart = Math.max(filePath.lastIndexOf('/'), filePath.lastIndexOf('\\')) + 1;
+		final int dot = filePath.indexOf('.', nameStart);
+		final int nameEnd = dot < 0 ? filePath.length() : dot;
 
-		if (split.length > 5) {
+		// 필드 i = [from[i], to[i]) , 최대 10개 (10번째는 나머지 전체)
+		final int[] from = new int[MAX_FIELDS];
+		final int[] to = new int[MAX_FIELDS];
+		int count = 0;
+		int pos = nameStart;
+		while (true) {
+			from[count] = pos;
+			final int dash = count < MAX_FIELDS - 1 ? filePath.indexOf('-', pos) : -1;
+			if (dash < 0 || dash >= nameEnd) {
+				to[count++] = nameEnd;
+				break;
+			}
+			to[count++] = dash;
+			pos = dash + 1;
+		}
+		if (count < 5) throw new IllegalArgumentException("invalid file name: " + filePath.substring(nameStart));
+
+		final int startOffset = filePath.indexOf('2', from[0]);
+		if (startOffset < 0 || startOffset >= to[0]) throw new IllegalArgumentException("invalid file name: " + filePath.substring(nameStart));
+		if (startOffset > from[0]) info.prefix = filePath.substring(from[0], startOffset);
+		info.ctime = filePath.substring(startOffset, to[0]);
+		info.srcIP = IP.of(filePath, from[1], to[1]);
+		info.dstIP = IP.of(filePath, from[2], to[2]);
+		info.srcPort = Integer.parseInt(filePath, from[3], to[3], 10);
+		info.dstPort = Integer.parseInt(filePath, from[4], to[4], 10);
+
+		if (count > 5) {
 			try {
-				info.seq = Integer.parseInt(split[5]);
+				info.seq = Integer.parseInt(filePath, from[5], to[5], 10);
 			} catch (final NumberFormatException e) {
 				// FMT 파일이 파일 네이밍 규칙에서 어긋난다. 예외처리
 			}
 		}
 
 		// 수집 장비에 따라 CID, DEVIANCE 없는 경우가 있다.
-		if (split.length > 6) info.cid = split[6];
-		if (split.length > 7) info.deviceName = split[7];
-		if (split.length > 8) info.decodeHost = split[8];
+		if (count > 6) info.cid = filePath.substring(from[6], to[6]);
+		if (count > 7) info.deviceName = filePath.substring(from[7], to[7]);
+		if (count > 8) info.decodeHost = filePath.substring(from[8], to[8]);
 
-		final StringBuilder sb = new StringBuilder();
-		if (split.length > 8) {
-			sb.append("-").append(split[8]);
-			if (split.length > 9) { // 딜리미터 10개 이후는 하나로 합쳐서 넣는다.
-				sb.append("-").append(split[9]);
-			}
-		}
-		if (dotSplit.length > 1) sb.append(".").append(dotSplit[1]);
-		info.suffix = sb.toString();
+		// 딜리미터 10개 이후는 하나로 합쳐서 넣는다. (decodeHost 부터 확장자까지 원문 그대로)
+		final int suffixStart = count > 8 ? from[8] - 1 : nameEnd;
+		info.suffix = filePath.substring(suffixStart);
 		return info;
 	}
 
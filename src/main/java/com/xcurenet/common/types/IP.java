@@ -3,51 +3,61 @@ package com.xcurenet.common.types;
 import java.io.IOException;
 import java.io.Serial;
 import java.io.Serializable;
-import java.net.Inet6Address;
 import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.Arrays;
-import java.util.regex.Pattern;
 
 import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 
 import com.xcurenet.common.utils.Common;
 
+/**
+ * IP 주소 (값 타입)
+ * - 주소는 long 2개로 보관 (IPv4: lo 하위 32비트, IPv6: hi/lo 각 8바이트), 비교/해시는 할당 없이 long 비교
+ * - 문자열 표기(canonical/hex)는 처음 요청될 때 한 번 만든다
+ * - Hex(1~32자리, 파일명 형식)와 IPv4 점 표기는 직접 해석한다 (InetAddress/정규식 미사용)
+ * - 그 외 표기(IPv6 문자열, 호스트명 등)만 InetAddress 로 해석
+ * - {@link #of} 는 같은 원문을 작은 고정 크기 캐시에서 재사용한다 (반복되는 출발지/목적지 IP)
+ */
 public class IP implements Serializable {
 	@Serial
-	private static final long serialVersionUID = 7377908637131394231L;
+	private static final long serialVersionUID = -2650134412518466032L;
+
+	private static final int INTERN_SIZE = 1024; // 2의 거듭제곱
+	private static final IP[] INTERN = new IP[INTERN_SIZE];
 
-	private static final Pattern HEX_REGEX = Pattern.compile("^[0-9a-fA-F]{1,32}$");
 	@Getter
-	private boolean isIPv6;
-	private byte[] addr;
+	private final boolean isIPv6;
+	private final long hi;
+	private final long lo;
+	private final String rawAddr;
 	private String canonicalAddr;
-	private String rawAddr;
 	private String hexAddr;
-	private Long lAddr;
 
 	public IP(final String ip) throws IOException {
-		if (HEX_REGEX.matcher(ip).find()) {
-			// Hex 값일 것이다.
-			byte[] b = Common.hexToBytes(ip);
-			if (b.length < 4) {
-				// 4 바이트 미만인 경우 패딩 추가
-				final byte[] buf = new byte[4];
-				System.arraycopy(b, 0, buf, 4 - b.length, b.length);
-				b = buf;
-			}
-			setInetAddress(InetAddress.getByAddress(b), ip);
-		} else {
-			setInetAddress(InetAddress.getByName(ip), ip);
-		}
+		this(address(ip, 0, ip.length()), ip);
 	}
 
 	public IP(final byte[] ip) throws IOException {
-		setInetAddress(InetAddress.getByAddress(ip), Common.toHexString(ip));
+		this(normalize(ip.clone()), Common.toHexString(ip));
 	}
 
 	public IP(final InetAddress inetAddress) {
-		setInetAddress(inetAddress, inetAddress.getHostAddress());
+		this(inetAddress.getAddress(), inetAddress.getHostAddress());
+	}
+
+	private IP(final byte[] addr, final String rawAddr) {
+		this.isIPv6 = addr.length == 16;
+		this.hi = isIPv6 ? readLong(addr, 0) : 0L;
+		this.lo = isIPv6 ? readLong(addr, 8) : readLong(addr, 0) >>> 32;
+		this.rawAddr = rawAddr;
+	}
+
+	private static long readLong(final byte[] b, final int offset) {
+		long v = 0;
+		for (int i = 0; i < 8; i++) v = (v << 8) | (offset + i < b.length ? b[offset + i] & 0xff : 0);
+		return v;
 	}
 
 	public static IP create(final long ip) throws IOException {
@@ -55,14 +65,119 @@ public class IP implements Serializable {
 	}
 
 	public static IP create(final String ip) throws IOException {
-		return StringUtils.isEmpty(ip) ? null : new IP(ip);
+		return StringUtils.isEmpty(ip) ? null : of(ip);
 	}
 
-	private void setInetAddress(final InetAddress inetAddress, final String rawAddr) {
-		this.isIPv6 = inetAddress instanceof Inet6Address;
-		this.addr = inetAddress.getAddress();
-		this.canonicalAddr = inetAddress.getHostAddress();
-		this.rawAddr = rawAddr;
+	public static IP of(final String ip) throws IOException {
+		return of(ip, 0, ip.length());
+	}
+
+	/**
+	 * s[from, to) 를 IP 로 해석 (Hex/IPv4 표기는 캐시 재사용, 그 외는 매번 새로 해석)
+	 */
+	public static IP of(final CharSequence s, final int from, final int to) throws IOException {
+		int h = 0;
+		for (int i = from; i < to; i++) h = 31 * h + s.charAt(i);
+		final int slot = (h ^ (h >>> 16)) & (INTERN_SIZE - 1);
+		final IP cached = INTERN[slot];
+		if (cached != null && cached.rawEquals(s, from, to)) return cached;
+
+		final byte[] literal = literal(s, from, to);
+		if (literal == null) return new IP(s.subSequence(from, to).toString());
+		final IP ip = new IP(literal, s.subSequence(from, to).toString());
+		INTERN[slot] = ip;
+		return ip;
+	}
+
+	private boolean rawEquals(final CharSequence s, final int from, final int to) {
+		if (rawAddr.length() != to - from) return false;
+		for (int i = from; i < to; i++) {
+			if (rawAddr.charAt(i - from) != s.charAt(i)) return false;
+		}
+		return true;
+	}
+
+	private static byte[] address(final CharSequence s, final int from, final int to) throws IOException {
+		final byte[] literal = literal(s, from, to);
+		if (literal != null) return literal;
+		return InetAddress.getByName(s.subSequence(from, to).toString()).getAddress();
+	}
+
+	/**
+	 * Hex 또는 IPv4 점 표기면 주소 바이트, 아니면 null
+	 */
+	private static byte[] literal(final CharSequence s, final int from, final int to) throws IOException {
+		final byte[] hex = hex(s, from, to);
+		if (hex != null) return normalize(hex);
+		return dotted(s, from, to);
+	}
+
+	/**
+	 * Hex 문자열 → 바이트 (홀수 자리는 앞에 0, 4 바이트 미만은 앞쪽 패딩)
+	 */
+	private static byte[] hex(final CharSequence s, final int from, final int to) {
+		final int len = to - from;
+		if (len < 1 || len > 32) return null;
+		final byte[] b = new byte[Math.max(4, (len + 1) / 2)];
+		int pos = b.length - 1;
+		boolean low = true;
+		for (int i = to - 1; i >= from; i--) {
+			final int d = hexDigit(s.charAt(i));
+			if (d < 0) return null;
+			if (low) {
+				b[pos] = (byte) d;
+			} else {
+				b[pos--] |= (byte) (d << 4);
+			}
+			low = !low;
+		}
+		return b;
+	}
+
+	private static int hexDigit(final char c) {
+		if (c >= '0' && c <= '9') return c - '0';
+		if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+		if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+		return -1;
+	}
+
+	/**
+	 * "a.b.c.d" (각 0~255, 앞자리 0 없는 10진수) → 4 바이트, 형식이 다르면 null
+	 */
+	private static byte[] dotted(final CharSequence s, final int from, final int to) {
+		final byte[] b = new byte[4];
+		int part = 0;
+		int value = 0;
+		int digits = 0;
+		for (int i = from; i <= to; i++) {
+			final char c = i < to ? s.charAt(i) : '.';
+			if (c == '.') {
+				if (digits == 0 || part == 4) return null;
+				b[part++] = (byte) value;
+				value = 0;
+				digits = 0;
+			} else if (c >= '0' && c <= '9') {
+				if (digits > 0 && value == 0) return null; // 앞자리 0 (8진수 해석 모호)
+				value = value * 10 + (c - '0');
+				if (++digits > 3 || value > 255) return null;
+			} else {
+				return null;
+			}
+		}
+		return part == 4 ? b : null;
+	}
+
+	/**
+	 * InetAddress.getByAddress 와 같은 규칙: 4/16 바이트만 허용, IPv4-mapped IPv6 는 IPv4 로
+	 */
+	private static byte[] normalize(final byte[] b) throws UnknownHostException {
+		if (b.length == 4) return b;
+		if (b.length != 16) throw new UnknownHostException("addr is of illegal length");
+		for (int i = 0; i < 10; i++) {
+			if (b[i] != 0) return b;
+		}
+		if (b[10] != (byte) 0xff || b[11] != (byte) 0xff) return b;
+		return Arrays.copyOfRange(b, 12, 16);
 	}
 
 	public boolean isIPv4() {
@@ -71,27 +186,80 @@ public class IP implements Serializable {
 
 	public String toHexString() {
 		if (hexAddr == null) {
-			hexAddr = Common.toHexString(addr);
+			hexAddr = isIPv6 ? hex(hi, 16) + hex(lo, 16) : hex(lo, 8);
 		}
 		return hexAddr;
 	}
 
+	private static String hex(final long v, final int digits) {
+		final String s = Long.toHexString(v);
+		return s.length() >= digits ? s : "0".repeat(digits - s.length()) + s;
+	}
+
 	// IPV4 Only
 	public long toLong() {
-		if (lAddr == null) {
-			if (isIPv6()) {
-				throw new RuntimeException("IPv4 address only");
-			}
-			lAddr = Common.inet_btol(toBytes());
+		if (isIPv6) {
+			throw new RuntimeException("IPv4 address only");
 		}
-		return lAddr;
+		return lo;
 	}
 
+	/**
+	 * IPv6 상위 8바이트 (IPv4 는 0)
+	 */
+	public long getHigh() {
+		return hi;
+	}
+
+	/**
+	 * IPv6 하위 8바이트, IPv4 는 32비트 주소
+	 */
+	public long getLow() {
+		return lo;
+	}
+
+	/**
+	 * 주소 바이트 (4 또는 16, 호출마다 새 배열)
+	 */
 	public byte[] toBytes() {
-		return addr;
+		final byte[] b = new byte[isIPv6 ? 16 : 4];
+		if (isIPv6) {
+			for (int i = 0; i < 8; i++) {
+				b[i] = (byte) (hi >>> (56 - 8 * i));
+				b[8 + i] = (byte) (lo >>> (56 - 8 * i));
+			}
+		} else {
+			for (int i = 0; i < 4; i++) b[i] = (byte) (lo >>> (24 - 8 * i));
+		}
+		return b;
+	}
+
+	/**
+	 * 주소 바이트로 InetAddress 생성 (이름 해석 없음)
+	 */
+	public InetAddress toInetAddress() throws UnknownHostException {
+		return InetAddress.getByAddress(toBytes());
 	}
 
+	/**
+	 * InetAddress.getHostAddress 와 같은 표기 (IPv4 점 표기, IPv6 는 생략 없는 16진 8그룹)
+	 */
 	public String toCanonicalAddr() {
+		if (canonicalAddr == null) {
+			final StringBuilder sb = new StringBuilder(isIPv6 ? 39 : 15);
+			if (isIPv6) {
+				for (int i = 0; i < 8; i++) {
+					if (i > 0) sb.append(':');
+					sb.append(Integer.toHexString((int) ((i < 4 ? hi : lo) >>> (48 - 16 * (i & 3))) & 0xffff));
+				}
+			} else {
+				for (int i = 0; i < 4; i++) {
+					if (i > 0) sb.append('.');
+					sb.append((lo >>> (24 - 8 * i)) & 0xff);
+				}
+			}
+			canonicalAddr = sb.toString();
+		}
 		return canonicalAddr;
 	}
 
@@ -106,7 +274,7 @@ public class IP implements Serializable {
 
 	@Override
 	public int hashCode() {
-		return Arrays.hashCode(addr);
+		return Long.hashCode(hi * 31 + lo) ^ (isIPv6 ? 1 : 0);
 	}
 
 	@Override
@@ -114,9 +282,9 @@ public class IP implements Serializable {
 		if (this == obj) {
 			return true;
 		}
-		if (!(obj instanceof IP)) {
+		if (!(obj instanceof final IP other)) {
 			return false;
 		}
-		return Arrays.equals(addr, ((IP) obj).toBytes());
+		return isIPv6 == other.isIPv6 && hi == other.hi && lo == other.lo;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package com.xcurenet.common.utils;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 본문 텍스트 로더 (스트리밍 1회 통과)
+ * - UTF-8 로 maxLength 글자까지만 디코딩하고 나머지는 읽지 않는다
+ * - 읽으면서 {@link Common#limitTokenLengthWithSpace} → {@link Common#unescapeJava} 를 같은 순서/결과로 바로 적용한다
+ * - 읽기/출력 버퍼는 {@link ScratchPool} 에서 빌려 쓴다 (RETAIN_CHARS 를 넘게 커진 출력 버퍼는 반납하지 않음)
+ * <pre>
+ * 결과 = unescapeJava(limitTokenLengthWithSpace(limitLength(파일 전체 텍스트, maxLength), maxTokenLen))
+ * </pre>
+ */
+@Log4j2
+public final class BodyTextReader {
+	private static final int READ_CHARS = 8192;
+	private static final int RETAIN_CHARS = 256 * 1024;
+
+	// unescapeJava 치환 대상 (같은 위치에서 둘 이상 일치하는 경우 없음 → 앞에서부터 한 번에 치환해도 결과 동일)
+	private static final String[] ESCAPES = {"\\r\\n", "\\\\r\\\\n", "\\\\n", "\\n"};
+	private static final String[] REPLACES = {"\r\n", "\r\n", "\n", "\n"};
+	private static final int MAX_ESCAPE = 6;
+
+	private static final ScratchPool<BodyTextReader> READERS = new ScratchPool<>(BodyTextReader::new);
+
+	private final char[] buf = new char[READ_CHARS];
+	private final char[] pending = new char[MAX_ESCAPE];
+	private StringBuilder out = new StringBuilder(READ_CHARS);
+	private int pendingLength;
+	private int maxTokenLen;
+	private int tokenLen;
+	private char highSurrogate;
+
+	private BodyTextReader() {
+	}
+
+	/**
+	 * @return 변환된 본문, 읽기 실패 시 null
+	 */
+	public static String read(final String path, final int maxLength, final int maxTokenLen) {
+		if (path == null) return null;
+		final BodyTextReader reader = READERS.borrow();
+		try (Reader in = new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8)) {
+			return reader.load(in, Math.max(0, maxLength), maxTokenLen);
+		} catch (IOException e) {
+			log.warn("Failed to read file text: {}", path, e);
+			return null;
+		} finally {
+			reader.reset();
+			READERS.release(reader);
+		}
+	}
+
+	private String load(final Reader in, final int maxLength, final int maxTokenLen) throws IOException {
+		this.maxTokenLen = maxTokenLen;
+		int remaining = maxLength;
+		int n;
+		while (remaining > 0 && (n = in.read(buf, 0, Math.min(buf.length, remaining))) != -1) {
+			for (int i = 0; i < n; i++) token(buf[i]);
+			remaining -= n;
+		}
+		if (highSurrogate != 0) codePoint(highSurrogate);
+		flush();
+		return out.toString();
+	}
+
+	private void reset() {
+		pendingLength = 0;
+		tokenLen = 0;
+		highSurrogate = 0;
+		if (out.capacity() > RETAIN_CHARS) out = new StringBuilder(READ_CHARS);
+		else out.setLength(0);
+	}
+
+	/**
+	 * 토큰 길이 제한 (코드 포인트 단위, 공백 문자에서 초기화, 초과 시 ' ' 삽입)
+	 */
+	private void token(final char c) {
+		if (highSurrogate != 0) {
+			final char high = highSurrogate;
+			highSurrogate = 0;
+			if (Character.isLowSurrogate(c)) {
+				codePoint(Character.toCodePoint(high, c));
+				return;
+			}
+			codePoint(high);
+		}
+		if (Character.isHighSurrogate(c)) {
+			highSurrogate = c;
+			return;
+		}
+		codePoint(c);
+	}
+
+	private void codePoint(final int cp) {
+		if (maxTokenLen > 0) {
+			if (Character.isWhitespace(cp)) {
+				tokenLen = 0;
+			} else {
+				if (tokenLen >= maxTokenLen) {
+					unescape(' ');
+					tokenLen = 0;
+				}
+				tokenLen++;
+			}
+		}
+		if (Character.isBmpCodePoint(cp)) {
+			unescape((char) cp);
+		} else {
+			unescape(Character.highSurrogate(cp));
+			unescape(Character.lowSurrogate(cp));
+		}
+	}
+
+	/**
+	 * 이스케이프 치환 (최대 6글자만 보류)
+	 */
+	private void unescape(final char c) {
+		pending[pendingLength++] = c;
+		resolve(false);
+	}
+
+	private void flush() {
+		resolve(true);
+	}
+
+	private void resolve(final boolean end) {
+		while (pendingLength > 0) {
+			boolean prefix = false;
+			for (int p = 0; p < ESCAPES.length; p++) {
+				final String escape = ESCAPES[p];
+				if (!startsWith(escape)) continue;
+				if (pendingLength == escape.length()) {
+					out.append(REPLACES[p]);
+					pendingLength = 0;
+					return;
+				}
+				prefix = true;
+			}
+			if (prefix && !end) return;
+			out.append(pending[0]);
+			System.arraycopy(pending, 1, pending, 0, --pendingLength);
+		}
+	}
+
+	/**
+	 * 보류 중인 글자가 escape 의 앞부분(또는 전체)과 같은지
+	 */
+	private boolean startsWith(final String escape) {
+		if (pendingLength > escape.length()) return false;
+		for (int i = 0; i < pendingLength; i++) {
+			if (pending[i] != escape.charAt(i)) return false;
+		}
+		return true;
+	}
+}
@@ -35,6 +35,8 @@ import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.security.MessageDigest;
@@ -1177,6 +1179,15 @@ public final class Common {
 		return file.canRead() && file.canWrite() && file.canExecute();
 	}
 
+	/**
+	 * 이미 읽어 둔 속성으로 소유자 rwx(7xx) 여부를 판단한다 (추가 access 시스템콜 없음)
+	 */
+	public static boolean filePermission(final BasicFileAttributes attrs) {
+		if (Common.isWindow() || !(attrs instanceof PosixFileAttributes posix)) return true;
+		final Set<PosixFilePermission> perms = posix.permissions();
+		return perms.contains(PosixFilePermission.OWNER_READ) && perms.contains(PosixFilePermission.OWNER_WRITE) && perms.contains(PosixFilePermission.OWNER_EXECUTE);
+	}
+
 	public static void removeAllPermissions(File file) {
 		if (Common.isWindow()) return;
 
@@ -0,0 +1,198 @@
+package com.xcurenet.common.utils;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * HTTP 헤더 파일 스캐너 (바이트 단위 1회 통과)
+ * - 파일 형식: 요청 줄 + 요청 헤더, 빈 줄, 응답 줄 + 응답 헤더 ({@link HttpHeaderUtil#parserHeader} 와 같은 해석)
+ * - 요청/응답 줄과 지정한 헤더 값만 문자열로 만든다 (줄 목록, 헤더 맵 없음)
+ * - 헤더 이름은 대소문자 구분 없이 비교하고, 같은 헤더가 여러 번 오면 마지막 값을 쓴다
+ * - 첫 빈 줄이 없으면 헤더 파일이 아닌 것으로 보고 null
+ */
+public final class HttpHeaderScanner {
+	private static final int BUFFER_SIZE = 8192;
+	private static final int MAX_LINE = 64 * 1024; // 이후 글자는 버린다 (긴 Cookie 등)
+
+	private static final int REQUEST_LINE = 0;
+	private static final int REQUEST_HEADERS = 1;
+	private static final int RESPONSE_LINE = 2;
+	private static final int RESPONSE_HEADERS = 3;
+
+	public static final class Result {
+		@Getter
+		private String method;
+		@Getter
+		private String url;
+		@Getter
+		private String protocol;
+		@Getter
+		private String responseProtocol;
+		@Getter
+		private String status;
+		private final String[] request;
+		private final String[] response;
+
+		private Result(final int requestSize, final int responseSize) {
+			this.request = new String[requestSize];
+			this.response = new String[responseSize];
+		}
+
+		/**
+		 * @param index scan 에 넘긴 요청 헤더 이름의 위치
+		 */
+		public String request(final int index) {
+			return request[index];
+		}
+
+		/**
+		 * @param index scan 에 넘긴 응답 헤더 이름의 위치
+		 */
+		public String response(final int index) {
+			return response[index];
+		}
+	}
+
+	private final byte[][] requestNames;
+	private final byte[][] responseNames;
+	private final Result result;
+	private byte[] line = new byte[256];
+	private int length;
+	private int section = REQUEST_LINE;
+
+	private HttpHeaderScanner(final String[] requestNames, final String[] responseNames) {
+		this.requestNames = names(requestNames);
+		this.responseNames = names(responseNames);
+		this.result = new Result(requestNames.length, responseNames.length);
+	}
+
+	/**
+	 * @param requestNames  찾을 요청 헤더 이름 (소문자)
+	 * @param responseNames 찾을 응답 헤더 이름 (소문자)
+	 */
+	public static Result scan(final InputStream in, final String[] requestNames, final String[] responseNames) throws IOException {
+		final HttpHeaderScanner scanner = new HttpHeaderScanner(requestNames, responseNames);
+		scanner.read(in);
+		return scanner.section >= RESPONSE_LINE ? scanner.result : null;
+	}
+
+	private static byte[][] names(final String[] names) {
+		final byte[][] b = new byte[names.length][];
+		for (int i = 0; i < names.length; i++) b[i] = names[i].getBytes(StandardCharsets.US_ASCII);
+		return b;
+	}
+
+	private void read(final InputStream in) throws IOException {
+		final byte[] buf = new byte[BUFFER_SIZE];
+		boolean skipLf = false;
+		int n;
+		while ((n = in.read(buf)) != -1) {
+			for (int i = 0; i < n; i++) {
+				final byte b = buf[i];
+				if (b == '\n' && skipLf) {
+					skipLf = false;
+					continue;
+				}
+				skipLf = b == '\r';
+				if (b == '\n' || b == '\r') {
+					line();
+					length = 0;
+				} else if (length < MAX_LINE) {
+					if (length == line.length) line = Arrays.copyOf(line, Math.min(MAX_LINE, length * 2));
+					line[length++] = b;
+				}
+			}
+		}
+		if (length > 0) line();
+	}
+
+	private void line() {
+		switch (section) {
+			case REQUEST_LINE, REQUEST_HEADERS -> {
+				if (length == 0) {
+					section = RESPONSE_LINE;
+				} else if (section == REQUEST_LINE) {
+					requestLine();
+					section = REQUEST_HEADERS;
+				} else {
+					header(requestNames, result.request);
+				}
+			}
+			case RESPONSE_LINE -> {
+				responseLine();
+				section = RESPONSE_HEADERS;
+			}
+			default -> header(responseNames, result.response);
+		}
+	}
+
+	/**
+	 * "METHOD URL PROTOCOL" (공백 1칸 단위, 세 번째 항목 이후가 있어야 인정)
+	 */
+	private void requestLine() {
+		final int sp1 = indexOf(' ', 0, length);
+		if (sp1 < 0) return;
+		final int sp2 = indexOf(' ', sp1 + 1, length);
+		if (sp2 < 0) return;
+		boolean rest = false;
+		for (int i = sp2 + 1; i < length && !rest; i++) rest = line[i] != ' ';
+		if (!rest) return;
+		final int sp3 = indexOf(' ', sp2 + 1, length);
+		result.method = text(0, sp1);
+		result.url = text(sp1 + 1, sp2);
+		result.protocol = text(sp2 + 1, sp3 < 0 ? length : sp3);
+	}
+
+	/**
+	 * "PROTOCOL STATUS..." (첫 공백 뒤 전체가 상태)
+	 */
+	private void responseLine() {
+		final int sp = indexOf(' ', 0, length);
+		if (sp < 0) return;
+		result.responseProtocol = text(0, sp);
+		result.status = text(sp + 1, length);
+	}
+
+	private void header(final byte[][] names, final String[] values) {
+		final int colon = indexOf(':', 0, length);
+		if (colon < 0) return;
+		int keyStart = 0;
+		int keyEnd = colon;
+		while (keyStart < keyEnd && (line[keyStart] & 0xff) <= ' ') keyStart++;
+		while (keyEnd > keyStart && (line[keyEnd - 1] & 0xff) <= ' ') keyEnd--;
+
+		for (int i = 0; i < names.length; i++) {
+			if (!equalsIgnoreCase(names[i], keyStart, keyEnd)) continue;
+			int valueStart = colon + 1;
+			int valueEnd = length;
+			while (valueStart < valueEnd && (line[valueStart] & 0xff) <= ' ') valueStart++;
+			while (valueEnd > valueStart && (line[valueEnd - 1] & 0xff) <= ' ') valueEnd--;
+			values[i] = text(valueStart, valueEnd);
+		}
+	}
+
+	private boolean equalsIgnoreCase(final byte[] name, final int from, final int to) {
+		if (to - from != name.length) return false;
+		for (int i = 0; i < name.length; i++) {
+			byte b = line[from + i];
+			if (b >= 'A' && b <= 'Z') b += 'a' - 'A';
+			if (b != name[i]) return false;
+		}
+		return true;
+	}
+
+	private int indexOf(final char c, final int from, final int to) {
+		for (int i = from; i < to; i++) {
+			if (line[i] == c) return i;
+		}
+		return -1;
+	}
+
+	private String text(final int from, final int to) {
+		return new String(line, from, to - from, StandardCharsets.UTF_8);
+	}
+}
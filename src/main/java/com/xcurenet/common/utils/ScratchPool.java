@@ -0,0 +1,36 @@
+package com.xcurenet.common.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * 재사용 작업 버퍼 풀 (ThreadLocal 대체)
+ * - 가상 쓰레드 모드(pipeline.thread.mode=virtual)에서는 작업마다 쓰레드가 새로 생겨 ThreadLocal 버퍼가 매번 할당된다
+ *   → 쓰레드 모드와 관계없이 작업 단위로 빌려 쓰고 반납해서 재사용한다
+ * - 비어 있으면 새로 만들고, 가득 차 있으면 반납분은 버린다 (동시 사용이 capacity(기본 CPU 수 x 2)를 넘는 동안만 추가 할당)
+ * - 빌린 객체는 반납 전까지 빌린 쪽만 사용하고, 반납(보통 finally / close)한 뒤에는 더 쓰지 않는다
+ */
+public final class ScratchPool<T> {
+	private static final int DEFAULT_CAPACITY = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+	private final ArrayBlockingQueue<T> pool;
+	private final Supplier<T> factory;
+
+	public ScratchPool(final Supplier<T> factory) {
+		this(DEFAULT_CAPACITY, factory);
+	}
+
+	public ScratchPool(final int capacity, final Supplier<T> factory) {
+		this.pool = new ArrayBlockingQueue<>(Math.max(1, capacity));
+		this.factory = factory;
+	}
+
+	public T borrow() {
+		final T item = pool.poll();
+		return item != null ? item : factory.get();
+	}
+
+	public void release(final T item) {
+		if (item != null) pool.offer(item);
+	}
+}
@@ -0,0 +1,296 @@
+package com.xcurenet.common.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * 용량이 제한된 시간 버킷(calendar) 블로킹 큐.
+ * - 원소의 시각(timeOf)을 bucketMillis 단위 버킷으로 묶고, 오래된 버킷부터 꺼낸다 (버킷 안에서는 FIFO)
+ * - PriorityBlockingQueue 와 달리 원소마다 O(log n) 힙 연산이 없다: 같은 버킷 적재/인출은 O(1), 버킷 생성/삭제만 O(log 버킷수)
+ * - capacity 를 실제로 강제하며 put/offer(timeout) 은 공간이 날 때까지 블로킹한다 (busy-sleep 불필요)
+ * - size() 는 락 없이 조회한다
+ * <p>
+ * iterator() 는 호출 시점의 스냅샷을 반환한다.
+ * onEnqueue 는 적재 성공 후 큐 락을 놓은 상태에서 호출된다 (여러 큐를 함께 기다리는 소비자 깨우기 용도).
+ */
+public class TimeBucketBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+	private static final int MAX_POOLED_BUCKETS = 64;
+
+	private final int capacity;
+	private final long bucketMillis;
+	private final ToLongFunction<? super E> timeOf;
+	private final Runnable onEnqueue;
+
+	private final TreeMap<Long, ArrayDeque<E>> buckets = new TreeMap<>();
+	private final ArrayDeque<ArrayDeque<E>> pooled = new ArrayDeque<>();
+	private final AtomicInteger count = new AtomicInteger();
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notEmpty = lock.newCondition();
+	private final Condition notFull = lock.newCondition();
+
+	// 최근 적재 버킷 / 가장 오래된 버킷 캐시 (TreeMap 조회 최소화)
+	private long tailKey;
+	private ArrayDeque<E> tailBucket;
+	private long headKey;
+	private ArrayDeque<E> headBucket;
+
+	public TimeBucketBlockingQueue(final int capacity, final long bucketMillis, final ToLongFunction<? super E> timeOf) {
+		this(capacity, bucketMillis, timeOf, null);
+	}
+
+	public TimeBucketBlockingQueue(final int capacity, final long bucketMillis, final ToLongFunction<? super E> timeOf, final Runnable onEnqueue) {
+		if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+		if (bucketMillis <= 0) throw new IllegalArgumentException("bucketMillis must be positive");
+		this.capacity = capacity;
+		this.bucketMillis = bucketMillis;
+		this.timeOf = Objects.requireNonNull(timeOf, "timeOf");
+		this.onEnqueue = onEnqueue;
+	}
+
+	private void fireEnqueued() {
+		if (onEnqueue != null) onEnqueue.run();
+	}
+
+	// ==== 내부 (lock 보유 상태에서만 호출) ====
+
+	private void enqueue(final E e) {
+		final long key = Math.floorDiv(timeOf.applyAsLong(e), bucketMillis);
+		ArrayDeque<E> bucket;
+		if (tailBucket != null && key == tailKey) {
+			bucket = tailBucket;
+		} else {
+			bucket = buckets.get(key);
+			if (bucket == null) {
+				bucket = pooled.isEmpty() ? new ArrayDeque<>() : pooled.pollFirst();
+				buckets.put(key, bucket);
+			}
+			tailKey = key;
+			tailBucket = bucket;
+		}
+		bucket.addLast(e);
+		if (headBucket != null && key < headKey) {
+			headKey = key;
+			headBucket = bucket;
+		}
+		count.getAndIncrement();
+		notEmpty.signal();
+	}
+
+	private ArrayDeque<E> head() {
+		if (headBucket == null) {
+			final Map.Entry<Long, ArrayDeque<E>> first = buckets.firstEntry();
+			if (first == null) return null;
+			headKey = first.getKey();
+			headBucket = first.getValue();
+		}
+		return headBucket;
+	}
+
+	private E dequeue() {
+		final ArrayDeque<E> bucket = head();
+		if (bucket == null) return null;
+		final E e = bucket.pollFirst();
+		if (bucket.isEmpty()) removeBucket(headKey, bucket);
+		count.getAndDecrement();
+		notFull.signal();
+		return e;
+	}
+
+	private void removeBucket(final long key, final ArrayDeque<E> bucket) {
+		buckets.remove(key);
+		if (bucket == tailBucket) tailBucket = null;
+		if (bucket == headBucket) headBucket = null;
+		if (pooled.size() < MAX_POOLED_BUCKETS) pooled.addLast(bucket);
+	}
+
+	// ==== BlockingQueue ====
+
+	@Override
+	public boolean offer(@NotNull final E e) {
+		Objects.requireNonNull(e);
+		lock.lock();
+		try {
+			if (count.get() >= capacity) return false;
+			enqueue(e);
+		} finally {
+			lock.unlock();
+		}
+		fireEnqueued();
+		return true;
+	}
+
+	@Override
+	public void put(@NotNull final E e) throws InterruptedException {
+		Objects.requireNonNull(e);
+		lock.lockInterruptibly();
+		try {
+			while (count.get() >= capacity) notFull.await();
+			enqueue(e);
+		} finally {
+			lock.unlock();
+		}
+		fireEnqueued();
+	}
+
+	@Override
+	public boolean offer(final E e, final long timeout, @NotNull final TimeUnit unit) throws InterruptedException {
+		Objects.requireNonNull(e);
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			while (count.get() >= capacity) {
+				if (nanos <= 0L) return false;
+				nanos = notFull.awaitNanos(nanos);
+			}
+			enqueue(e);
+		} finally {
+			lock.unlock();
+		}
+		fireEnqueued();
+		return true;
+	}
+
+	@Override
+	public E poll() {
+		if (count.get() == 0) return null;
+		lock.lock();
+		try {
+			return dequeue();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@NotNull
+	@Override
+	public E take() throws InterruptedException {
+		lock.lockInterruptibly();
+		try {
+			while (count.get() == 0) notEmpty.await();
+			return dequeue();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public E poll(final long timeout, @NotNull final TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			while (count.get() == 0) {
+				if (nanos <= 0L) return null;
+				nanos = notEmpty.awaitNanos(nanos);
+			}
+			return dequeue();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public E peek() {
+		if (count.get() == 0) return null;
+		lock.lock();
+		try {
+			final ArrayDeque<E> bucket = head();
+			return bucket != null ? bucket.peekFirst() : null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int size() {
+		return count.get();
+	}
+
+	@Override
+	public int remainingCapacity() {
+		return capacity - count.get();
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	@Override
+	public boolean remove(final Object o) {
+		if (o == null) return false;
+		lock.lock();
+		try {
+			for (Iterator<Map.Entry<Long, ArrayDeque<E>>> it = buckets.entrySet().iterator(); it.hasNext(); ) {
+				final Map.Entry<Long, ArrayDeque<E>> entry = it.next();
+				final ArrayDeque<E> bucket = entry.getValue();
+				if (!bucket.remove(o)) continue;
+				if (bucket.isEmpty()) removeBucket(entry.getKey(), bucket);
+				count.getAndDecrement();
+				notFull.signal();
+				return true;
+			}
+			return false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		lock.lock();
+		try {
+			buckets.clear();
+			tailBucket = null;
+			headBucket = null;
+			count.set(0);
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int drainTo(@NotNull final Collection<? super E> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(@NotNull final Collection<? super E> c, final int maxElements) {
+		Objects.requireNonNull(c);
+		if (c == this) throw new IllegalArgumentException();
+		if (maxElements <= 0) return 0;
+		lock.lock();
+		try {
+			int n = 0;
+			while (n < maxElements && count.get() > 0) {
+				c.add(dequeue());
+				n++;
+			}
+			return n;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@NotNull
+	@Override
+	public Iterator<E> iterator() {
+		final List<E> snapshot;
+		lock.lock();
+		try {
+			snapshot = new ArrayList<>(count.get());
+			for (ArrayDeque<E> bucket : buckets.values()) snapshot.addAll(bucket);
+		} finally {
+			lock.unlock();
+		}
+		return Collections.unmodifiableList(snapshot).iterator();
+	}
+}
@@ -0,0 +1,60 @@
+package com.xcurenet.common.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 가상 쓰레드(JDK 21+) 지원 유틸.
+ * 빌드 타깃(17)에서는 API 를 직접 참조할 수 없으므로 리플렉션으로 Thread.ofVirtual() 을 찾고,
+ * 실행 JVM 이 지원하지 않으면 null 을 반환하여 호출자가 플랫폼 쓰레드로 대체하도록 한다.
+ */
+public final class VirtualThreads {
+
+	private static final Method OF_VIRTUAL = find();
+
+	private VirtualThreads() {
+	}
+
+	private static Method find() {
+		try {
+			return Thread.class.getMethod("ofVirtual");
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	public static boolean isSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * @return 이름이 prefix-N 인 가상 쓰레드 팩토리, 미지원 JVM 이면 null
+	 */
+	public static ThreadFactory factory(final String prefix) {
+		if (OF_VIRTUAL == null) return null;
+		try {
+			Object builder = OF_VIRTUAL.invoke(null);
+			final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+			builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix + "-", 0L);
+			return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * 작업마다 새 쓰레드를 만드는 Executor (가상 쓰레드 미지원 시 null)
+	 */
+	public static ExecutorService newPerTaskExecutor(final String prefix) {
+		final ThreadFactory factory = factory(prefix);
+		if (factory == null) return null;
+		try {
+			final Method m = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+			return (ExecutorService) m.invoke(null, factory);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+}
@@ -1,14 +1,19 @@
 package com.xcurenet.logvault;
 
 import com.xcurenet.common.utils.Common;
-import com.xcurenet.common.utils.FileTimeComparator;
 import com.xcurenet.common.utils.NamedThreadFactory;
 import com.xcurenet.crypto.Crypto;
 import com.xcurenet.logvault.conf.Config;
 import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.intake.AdaptiveWorkerController;
+import com.xcurenet.logvault.module.intake.IntakeService;
+import com.xcurenet.logvault.module.intake.IntakeServiceRegistry;
+import com.xcurenet.logvault.module.intake.IntakeWorker;
+import com.xcurenet.logvault.module.pipeline.StagedPipeline;
+import com.xcurenet.logvault.module.scanner.EnqueuedRegistry;
+import com.xcurenet.logvault.module.scanner.ScanMode;
 import com.xcurenet.logvault.module.scanner.Scanner;
-import com.xcurenet.logvault.module.worker.AbstractWorker;
-import com.xcurenet.logvault.module.worker.MSGWorker;
+import com.xcurenet.logvault.module.scanner.WatchServiceScanner;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.Getter;
@@ -19,7 +24,6 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.ApplicationPidFileWriter;
-import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -27,12 +31,11 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import java.io.Console;
 import java.io.File;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -45,8 +48,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 @MapperScan("com.xcurenet")
 public class LogVaultApplication implements CommandLineRunner {
 
-	private final ApplicationContext context;
 	private final Config conf;
+	private final EnqueuedRegistry enqueuedRegistry;
+	private final IntakeServiceRegistry intakeServices;
+	private final StagedPipeline pipeline;
+	private final AdaptiveWorkerController workerController;
 
 	@Getter
 	protected static final AtomicInteger secBy10Count = new AtomicInteger();
@@ -58,42 +64,49 @@ public class LogVaultApplication implements CommandLineRunner {
 
 	public static final int QUEUE_CAPACITY = 1000;
 	private final AtomicBoolean run = new AtomicBoolean(true);
-	private final PriorityBlockingQueue<ScanData> wmailQueue = new PriorityBlockingQueue<>(QUEUE_CAPACITY, new FileTimeComparator());
 
+	// 종료 훅은 파이프라인 비우기 + 컨텍스트 종료가 모두 끝날 때까지 기다린다
+	private static final CountDownLatch SHUTDOWN_LATCH = new CountDownLatch(1);
+
+	/**
+	 * 종료 순서: 종료 신호 → 인입 중단 → 처리 중 건수 0 → 단계 쓰레드 종료 → 컨텍스트 종료(@PreDestroy) → 종료 훅 해제
+	 * (run() 은 처리 중 건이 모두 끝난 뒤에야 반환하므로 컨텍스트 종료 시 분석/전송 풀에 남은 작업이 없다)
+	 */
 	public static void main(String[] args) {
 		SpringApplication application = new SpringApplication(LogVaultApplication.class);
 		application.setRegisterShutdownHook(false);
 		application.addListeners(new ApplicationPidFileWriter(new File(Config.PID_FILE)));
 
-		ConfigurableApplicationContext ctx = application.run(args);
-		Runtime.getRuntime().addShutdownHook(new Thread(ctx::close));
+		ConfigurableApplicationContext ctx = null;
+		try {
+			ctx = application.run(args);
+		} finally {
+			try {
+				if (ctx != null) ctx.close();
+			} finally {
+				SHUTDOWN_LATCH.countDown();
+			}
+		}
 	}
 
 	@Override
 	public void run(String... args) throws Exception {
-		final CountDownLatch shutdownLatch = new CountDownLatch(1);
-		final List<AbstractWorker> workers = new ArrayList<>();
 		try {
-			Runtime.getRuntime().addShutdownHook(new WaitForProperShutdown(shutdownLatch, run));
+			Runtime.getRuntime().addShutdownHook(new WaitForProperShutdown(SHUTDOWN_LATCH, run));
 			startScanner();
-			startWorker(workers);
+			startWorker();
 
 			while (run.get()) {
 				Common.sleep(1000);
 			}
 		} finally {
-			while (!isCompleteWorkers(workers)) {
+			run.set(false);
+			while (pipeline.getInFlight() > 0) {
+				pipeline.releaseParked(); // 늦은 첨부 대기 건은 기다리지 않음 (원본 유지 → 다음 실행에서 처리)
 				Common.sleep(1000);
 			}
-			shutdownLatch.countDown();
-		}
-	}
-
-	private boolean isCompleteWorkers(final List<AbstractWorker> workers) {
-		for (final AbstractWorker worker : workers) {
-			if (worker.getProgress()) return false;
+			pipeline.stop();
 		}
-		return true;
 	}
 
 	@PreDestroy
@@ -102,38 +115,61 @@ public class LogVaultApplication implements CommandLineRunner {
 	}
 
 	private void startScanner() {
-		if (conf.isEnableWmail()) startScanner(conf.getDirWmail(), wmailQueue);
+		for (IntakeService service : intakeServices.getServices()) {
+			startScanner(service.getDir(), service.getQueue(), service.getMode());
+		}
 		log.info("START_SCAN | LOAD END\n");
 	}
 
-	private void startScanner(final String dir, final PriorityBlockingQueue<ScanData> queue) {
+	private void startScanner(final String dir, final BlockingQueue<ScanData> queue, final ScanMode mode) {
 		if (Common.isEmpty(dir)) return;
 
-		ExecutorService executor = Executors.newFixedThreadPool(1);
-		executor.execute(new Scanner(dir, queue, run, conf.getScanDirectoryScanningWaitingSec()));
+		ExecutorService executor = Executors.newFixedThreadPool(mode == ScanMode.HYBRID ? 2 : 1);
+		switch (mode) {
+			case POLL -> executor.execute(new Scanner(dir, queue, enqueuedRegistry, run, conf.getScanDirectoryScanningWaitingSec(), conf.getScanShardThreads()));
+			case WATCH -> executor.execute(watchScanner(dir, queue, Duration.ofSeconds(conf.getScanReconcileIntervalSec())));
+			case HYBRID -> {
+				// 이벤트가 주 경로, 저빈도 전체 순회는 누락 보정용 안전망
+				executor.execute(watchScanner(dir, queue, Duration.ZERO));
+				executor.execute(Scanner.reconciler(dir, queue, enqueuedRegistry, run, conf.getScanReconcileIntervalSec(), conf.getScanShardThreads()));
+			}
+		}
 		executor.shutdown();
 
-//		WatchServiceScanner scanner = WatchServiceScanner.ofDefault(dir, queue, run, scannerCount, false);
-//		ExecutorService es = Executors.newSingleThreadExecutor();
-//		es.submit(scanner);
-
-		log.info("START_SCAN | {}", dir);
+		log.info("START_SCAN | {} | {}", mode, dir);
 	}
 
-	private void startWorker(final List<AbstractWorker> workers) throws Exception {
-		if (conf.isEnableWmail()) startWorker(workers, wmailQueue, conf.getWorkerSizeWmail(), MSGWorker.class);
-		log.info("START_WORKER | LOAD END\n");
+	private WatchServiceScanner watchScanner(final String dir, final BlockingQueue<ScanData> queue, final Duration reconcileInterval) {
+		return WatchServiceScanner.builder()
+				.dir(dir)
+				.scanQueue(queue)
+				.registry(enqueuedRegistry)
+				.run(run)
+				.scannerCount(scannerCount)
+				.useAtomicRenamePattern(conf.isScanWatchAtomicRename())
+				.deleteTmpDelay(Duration.ofDays(1))
+				.reconcileInterval(reconcileInterval)
+				.fileListener(pipeline::onFile)
+				.build();
 	}
 
-	private void startWorker(final List<AbstractWorker> workers, final PriorityBlockingQueue<ScanData> queue, int workerSize, Class<? extends AbstractWorker> workerClass) throws Exception {
-		ExecutorService executor = Executors.newFixedThreadPool(workerSize, new NamedThreadFactory(workerClass.getSimpleName()));
-		for (int i = 0; i < workerSize; i++) {
-			AbstractWorker worker = workerClass.getDeclaredConstructor(ApplicationContext.class, PriorityBlockingQueue.class, AtomicBoolean.class).newInstance(context, queue, run);
-			workers.add(worker);
-			executor.execute(worker);
+	/**
+	 * 단계별 파이프라인과 서비스 구분 없는 공용 인입 Worker 를 띄운다.
+	 * 각 인입 Worker 는 가중치 공정 스케줄러로 백로그가 있는 서비스 큐에서 꺼내 파이프라인 PARSE 단계를 실행한다.
+	 */
+	private void startWorker() throws Exception {
+		final int workerSize = intakeServices.getTotalWorkers();
+		if (workerSize <= 0) return;
+
+		pipeline.start();
+		final int threads = workerController.getThreads(); // 자동 조절 시 worker.size.max 만큼 띄우고 활성 수로 제한
+		ExecutorService executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory("Worker"));
+		for (int i = 0; i < threads; i++) {
+			executor.execute(new IntakeWorker(intakeServices, pipeline, workerController, i, run));
 		}
-		log.info("START_WORKER | {}", workerClass.getName());
 		executor.shutdown();
+		workerController.start();
+		log.info("START_WORKER | {} | threads={} | adaptive={} | LOAD END\n", workerSize, threads, workerController.isEnabled());
 	}
 
 	@PostConstruct
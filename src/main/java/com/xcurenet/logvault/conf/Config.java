@@ -85,9 +85,117 @@ public class Config {
 	@Value("${scan.dir.wmail:/users/las/msg/info/wmail}") //WMAIL 스캔 경로 - 운영중 설정 변경 불가 (재시작필요)
 	private String dirWmail;
 
+	@Value("${scan.mode.wmail:hybrid}") //WMAIL 인입 방식 (poll:주기 스캔, watch:WatchService, hybrid:WatchService+리컨실) - 운영중 설정 변경 불가 (재시작필요)
+	private String scanModeWmail;
+
+	@Value("${scan.reconcile.interval.sec:60}") //watch/hybrid 모드 리컨실(누락 보정) 스캔 주기 - 운영중 설정 변경 불가 (재시작필요)
+	private int scanReconcileIntervalSec;
+
+	@Value("${scan.shard.threads:4}") //하위 디렉터리(샤드) 병렬 스캔 쓰레드 수 - 운영중 설정 변경 불가 (재시작필요)
+	private int scanShardThreads;
+
+	@Value("${scan.watch.atomic.rename:false}") //디코더가 .part 로 작성 후 rename 하는 경우 true - 운영중 설정 변경 불가 (재시작필요)
+	private boolean scanWatchAtomicRename;
+
+	@Value("${scan.dedup.expire.generations:24}") //중복 방지 항목 만료 세대 수 (세대 주기: scan.dedup.generation.interval-ms, 기본 1시간)
+	private int scanDedupExpireGenerations;
+
+	@Value("${scan.dedup.skip.hold.sec:10}") //파일 대기(SkipFileException) 메시지 재적재 보류 시간
+	private int scanDedupSkipHoldSec;
+
+	@Value("${journal.enable:true}") //인입 처리 저널 사용 여부 (재시작 시 완료/진행 단계 복원) - 운영중 설정 변경 불가 (재시작필요)
+	private boolean journalEnable;
+
+	@Value("${journal.path:./journal}") //인입 처리 저널 저장 경로 - 운영중 설정 변경 불가 (재시작필요)
+	private String journalPath;
+
+	@Value("${journal.fsync:false}") //저널 기록마다 fsync 여부 (true: 전원 장애까지 보장, 처리량 감소)
+	private boolean journalFsync;
+
+	@Value("${journal.bloom.expected.insertions:1000000}") //완료 msgId Bloom 필터 세대당 예상 건수 - 운영중 설정 변경 불가 (재시작필요)
+	private int journalBloomExpectedInsertions;
+
+	@Value("${journal.bloom.fpp:0.001}") //완료 msgId Bloom 필터 오탐률 (오탐 시 색인 조회로 확정) - 운영중 설정 변경 불가 (재시작필요)
+	private double journalBloomFpp;
+
+	@Value("${journal.expire.generations:144}") //처리 중 저널 항목 만료 세대 수 (세대 주기: journal.compact.interval-ms, 기본 10분 → 24시간)
+	private int journalExpireGenerations;
+
 	@Value("${worker.size.wmail:1}") //WORKER 동시 처리 수 - 운영중 설정 변경 불가 (재시작필요)
 	private int workerSizeWmail;
 
+	@Value("${intake.services:wmail}") //인입 서비스 목록 (서비스별 scan.dir.<svc>, scan.mode.<svc>, worker.size.<svc>, worker.weight.<svc>, worker.max.<svc>, worker.class.<svc>) - 운영중 설정 변경 불가 (재시작필요)
+	private String intakeServices;
+
+	@Value("${worker.size.total:0}") //전체 서비스 공용 WORKER 수 (0: 서비스별 worker.size 합계) - 운영중 설정 변경 불가 (재시작필요)
+	private int workerSizeTotal;
+
+	@Value("${worker.adaptive.enable:false}") //적체/뒷단 압력에 따라 활성 WORKER 수 자동 조절 여부 - 운영중 설정 변경 불가 (재시작필요)
+	private boolean workerAdaptiveEnable;
+
+	@Value("${worker.size.min:1}") //자동 조절 최소 WORKER 수 - 운영중 설정 변경 불가 (재시작필요)
+	private int workerSizeMin;
+
+	@Value("${worker.size.max:0}") //자동 조절 최대 WORKER 수 (0: worker.size.total 의 2배) - 운영중 설정 변경 불가 (재시작필요)
+	private int workerSizeMax;
+
+	@Value("${worker.adaptive.lag.sec:60}") //가장 오래 기다린 파일이 이 시간(초)을 넘으면 WORKER 증가 - 운영중 설정 변경 불가 (재시작필요)
+	private int workerAdaptiveLagSec;
+
+	@Value("${pipeline.analyse.threads:8}") //ANALYSE 단계(텍스트 추출/개인정보 원격 API) 쓰레드 수 - 운영중 설정 변경 불가 (재시작필요)
+	private int pipelineAnalyseThreads;
+
+	@Value("${pipeline.store.threads:4}") //STORE 단계(본문/첨부 전송) 쓰레드 수 - 운영중 설정 변경 불가 (재시작필요)
+	private int pipelineStoreThreads;
+
+	@Value("${pipeline.index.threads:2}") //INDEX 단계(색인/알림/정리) 쓰레드 수 - 운영중 설정 변경 불가 (재시작필요)
+	private int pipelineIndexThreads;
+
+	@Value("${pipeline.stage.queue.capacity:100}") //단계 사이 큐 크기 (가득 차면 앞 단계가 대기) - 운영중 설정 변경 불가 (재시작필요)
+	private int pipelineStageQueueCapacity;
+
+	@Value("${pipeline.thread.mode:platform}") //파이프라인 실행 쓰레드 (platform: 단계별 고정 쓰레드, virtual: 건별 가상 쓰레드 - JDK 21 이상) - 운영중 설정 변경 불가 (재시작필요)
+	private String pipelineThreadMode;
+
+	@Value("${pipeline.virtual.max.inflight:2000}") //virtual 모드 최대 동시 처리 건수 - 운영중 설정 변경 불가 (재시작필요)
+	private int pipelineVirtualMaxInflight;
+
+	@Value("${limit.file.analysis:16}") //첨부 텍스트 추출 API 동시 호출 상한 - 운영중 설정 변경 불가 (재시작필요)
+	private int limitFileAnalysis;
+
+	@Value("${limit.privacy.api:16}") //개인정보 추출 API 동시 호출 상한 - 운영중 설정 변경 불가 (재시작필요)
+	private int limitPrivacyApi;
+
+	@Value("${limit.storage:16}") //본문/첨부 저장(Local/MinIO) 동시 쓰기 상한 - 운영중 설정 변경 불가 (재시작필요)
+	private int limitStorage;
+
+	@Value("${limit.opensearch:8}") //OpenSearch 동시 색인 상한 - 운영중 설정 변경 불가 (재시작필요)
+	private int limitOpensearch;
+
+	@Value("${limit.database:8}") //MariaDB 동시 쓰기 상한 - 운영중 설정 변경 불가 (재시작필요)
+	private int limitDatabase;
+
+	@Value("${analysis.fanout.per.message:4}") //메시지 1건의 첨부 병렬 처리 수 - 운영중 설정 변경 불가 (재시작필요)
+	private int analysisFanoutPerMessage;
+
+	@Value("${analysis.fanout.global:32}") //전체 첨부 병렬 처리 상한 - 운영중 설정 변경 불가 (재시작필요)
+	private int analysisFanoutGlobal;
+
+	@Value("${analysis.timeout.ms:60000}") //분석 기능별 제한 시간(ms), 기능별 analysis.timeout.{geo|lang|user_agent|att_text|thumnail|keyword|privacy} - 운영중 설정 변경 불가 (재시작필요)
+	private long analysisTimeoutMs;
+
+	@Value("${retry.base.ms:2000}") //전송/색인 실패 시 첫 재처리 지연(ms), 이후 2배씩 증가 - 운영중 설정 변경 불가 (재시작필요)
+	private long retryBaseMs;
+
+	@Value("${retry.max.ms:60000}") //재처리 지연 최대값(ms) - 운영중 설정 변경 불가 (재시작필요)
+	private long retryMaxMs;
+
+	@Value("${retry.max.attempts:5}") //단계별 최대 재처리 횟수 (초과 시 원본 유지 후 다음 스캔에서 재처리) - 운영중 설정 변경 불가 (재시작필요)
+	private int retryMaxAttempts;
+
+	@Value("${parking.max:10000}") //늦은 첨부 대기 메시지 보관 최대 건수 (초과 시 스캐너 재적재로 대기) - 운영중 설정 변경 불가 (재시작필요)
+	private int parkingMax;
+
 	@Value("${body.language.detect.size:2000}") //본문 국가탐지 시 본문 길이 제한
 	private int bodyLanguageDetectSize;
 
@@ -1,12 +1,25 @@
 package com.xcurenet.logvault.exception;
 
 import java.io.Serial;
+import java.util.List;
 
 public class SkipFileException extends Exception {
 	@Serial
 	private static final long serialVersionUID = -5748372569079732077L;
 
+	private final List<String> paths; // 아직 도착하지 않은 파일 경로
+
 	public SkipFileException(final String message) {
 		super(message);
+		this.paths = List.of(message);
+	}
+
+	public SkipFileException(final List<String> paths) {
+		super(String.join(", ", paths));
+		this.paths = List.copyOf(paths);
+	}
+
+	public List<String> getPaths() {
+		return paths;
 	}
 }
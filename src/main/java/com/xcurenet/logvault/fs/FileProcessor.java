@@ -2,6 +2,8 @@ package com.xcurenet.logvault.fs;
 
 import com.xcurenet.common.utils.Common;
 import com.xcurenet.logvault.conf.Config;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter.Dependency;
 import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +24,8 @@ public class FileProcessor {
 
 	private final FileSystemService minioFileSystem;
 
+	private final DependencyLimiter limiter;
+
 	@PostConstruct
 	public void init() throws Exception {
 		this.service = "local".equals(conf.getFileSystemType()) ? localFileSystem : minioFileSystem;
@@ -49,15 +53,15 @@ public class FileProcessor {
 	}
 
 	public void write(final String src, final String dst, final String fileName) throws Exception {
-		service.write(src, dst, fileName);
+		limiter.run(Dependency.STORAGE, () -> service.write(src, dst, fileName));
 	}
 
 	public void writeText(final String src, final String text) throws Exception {
-		service.writeText(src, text);
+		limiter.run(Dependency.STORAGE, () -> service.writeText(src, text));
 	}
 
 	public void write(final String src, final InputStream is, final String fileName) throws Exception {
-		service.write(src, is, fileName);
+		limiter.run(Dependency.STORAGE, () -> service.write(src, is, fileName));
 	}
 
 	public long getTotalSpace(final String src) {
@@ -15,7 +15,7 @@ import java.util.Map;
 @Component
 public class UserInsaInfoData {
 	private final Map<String, UserInfo> mapID = Collections.synchronizedMap(new HashMap<>());
-	private final Map<String, UserInfo> mapIP = Collections.synchronizedMap(new HashMap<>());
+	private final Map<IP, UserInfo> mapIP = Collections.synchronizedMap(new HashMap<>()); // IP 값 자체로 비교/해시 (문자열 변환 없음)
 
 	public UserInfo getUserByID(final String id) {
 		synchronized (mapID) {
@@ -25,7 +25,7 @@ public class UserInsaInfoData {
 
 	public UserInfo getUserByIP(final IP ip) {
 		synchronized (mapIP) {
-			return mapIP.get(ip.toHexString());
+			return mapIP.get(ip);
 		}
 	}
 
@@ -37,7 +37,7 @@ public class UserInsaInfoData {
 
 	public void putIp(final IP ip, final UserInfo userInfo) {
 		synchronized (mapIP) {
-			mapIP.put(ip.toHexString(), userInfo);
+			mapIP.put(ip, userInfo);
 		}
 	}
 
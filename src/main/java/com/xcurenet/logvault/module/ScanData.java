@@ -2,12 +2,15 @@ package com.xcurenet.logvault.module;
 
 import com.xcurenet.common.msg.MSGData;
 import com.xcurenet.common.types.FileNameInfo;
+import com.xcurenet.logvault.module.journal.JournalStage;
 import com.xcurenet.logvault.opensearch.EmassDoc;
 import lombok.Data;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.util.StopWatch;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Data
@@ -18,6 +21,7 @@ public class ScanData {
 	public static final String UTF8 = "UTF8";
 	public static final String ASCII = "ISO-8859-1";
 
+	private String service; // 인입 서비스 이름 (지표 태그)
 	private long start;
 	private StopWatch stopWatch;
 	private String filePath;
@@ -28,6 +32,7 @@ public class ScanData {
 	private FileNameInfo fileNameInfo;
 	private MSGData msgData;
 	private EmassDoc emassDoc;
+	private JournalStage resumed; // 이전 실행에서 완료된 처리 단계 (저널)
 
 	public ScanData(final File file, final AtomicInteger scannerCount) throws Exception {
 		this.filePath = file.getPath();
@@ -38,6 +43,18 @@ public class ScanData {
 		fileNameInfo = FileNameInfo.getInfo(file.getName());
 	}
 
+	/**
+	 * 스캐너가 이미 읽은 속성으로 생성 (lastModified/length 재조회 없음)
+	 */
+	public ScanData(final Path path, final BasicFileAttributes attrs, final AtomicInteger scannerCount) throws Exception {
+		this.filePath = path.toString();
+		this.fileName = path.getFileName().toString();
+		this.lastModified = attrs.lastModifiedTime().toMillis();
+		this.fileSize = attrs.size();
+		this.scannerCount = scannerCount;
+		fileNameInfo = FileNameInfo.getInfo(fileName);
+	}
+
 
 	public void incrementCount() {
 		scannerCount.incrementAndGet();
@@ -0,0 +1,21 @@
+package com.xcurenet.logvault.module.analysis;
+
+import com.xcurenet.logvault.module.ScanData;
+
+import java.util.List;
+
+/**
+ * 분석 그래프의 노드 1개
+ *
+ * @param name      노드 이름 (로그, analysis.timeout.{name} 설정 키)
+ * @param after     먼저 끝나야 하는 노드 이름 (선언 순서상 앞에 있어야 함)
+ * @param timeoutMs 노드 실행 제한 시간 (초과 시 결과를 기다리지 않고 다음 노드로 진행)
+ * @param task      분석 기능
+ */
+record AnalysisNode(String name, List<String> after, long timeoutMs, Task task) {
+
+	@FunctionalInterface
+	interface Task {
+		void run(ScanData data) throws Exception;
+	}
+}
@@ -1,33 +1,203 @@
 package com.xcurenet.logvault.module.analysis;
 
+import com.xcurenet.common.utils.DateUtils;
+import com.xcurenet.common.utils.NamedThreadFactory;
+import com.xcurenet.common.utils.VirtualThreads;
+import com.xcurenet.logvault.conf.Config;
 import com.xcurenet.logvault.module.ScanData;
-import lombok.RequiredArgsConstructor;
+import com.xcurenet.logvault.module.statics.StageMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.log4j.Log4j2;
+import org.slf4j.MDC;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StopWatch;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 메시지 분석 기능 실행기 (의존 그래프)
+ * <pre>
+ * GEO ─────────┐
+ * LANG ────────┤
+ * USER_AGENT ──┤
+ * ATT_TEXT ──┬─┴─ THUMNAIL / KEYWORD / PRIVACY
+ * </pre>
+ * - 서로 독립인 분석은 동시에 실행하고, 첨부 텍스트가 필요한 분석만 ATT_TEXT 완료 후 실행한다 → 지연 시간 = 임계 경로
+ * - 노드별 제한 시간 analysis.timeout.{노드} (기본 analysis.timeout.ms), 노드가 실제로 시작된 시점부터 잰다 (풀 대기 시간 제외)
+ * - 시간 초과 시 노드 작업을 취소(인터럽트)한다. 후속 노드는 선행 노드가 성공/실패/시간 초과와 관계없이 실제로 끝난 뒤 항상 실행한다
+ *   (ATT_TEXT 가 실패/시간 초과해도 KEYWORD / PRIVACY 는 본문과 추출이 끝난 첨부 텍스트로 탐지, 끝나지 않은 첨부는 텍스트 없이 제외)
+ * - analyse 는 시작된 노드가 모두 실제로 끝난 뒤 반환한다 → 이후 저장/색인 단계와 문서를 동시에 건드리지 않는다
+ *   (취소 후에도 끝나지 않으면 제한 시간만큼 더 기다린 뒤 오류 로그를 남기고 끝난 것으로 본다)
+ */
 @Log4j2
 @Service
-@RequiredArgsConstructor
 public class AnalysisService {
-	private final NetworkGEOLocation networkGEOLocation;
-	private final BodyLanguage bodyLanguage;
-	private final AttachAnalysis attachAnalysis;
-	private final UserAgentAnalysis userAgentAnalysis;
-	private final KeywordAnalysis keywordAnalysis;
-	private final PrivacyAnalysis privacyAnalysis;
+	private final List<AnalysisNode> nodes = new ArrayList<>();
+	private final ExecutorService executor;
+	private final ScheduledThreadPoolExecutor timer;
+	private final StageMetrics stageMetrics;
+
+	public AnalysisService(final Config conf, final Environment env, final NetworkGEOLocation networkGEOLocation, final BodyLanguage bodyLanguage, final AttachAnalysis attachAnalysis, final UserAgentAnalysis userAgentAnalysis, final KeywordAnalysis keywordAnalysis, final PrivacyAnalysis privacyAnalysis, final StageMetrics stageMetrics) {
+		this.stageMetrics = stageMetrics;
+		final long timeout = conf.getAnalysisTimeoutMs();
+		node(env, timeout, "GEO", networkGEOLocation::networkGEO);                          // source ip, dest ip MAXMIND 유틸을 활용하여 국가 탐지
+		node(env, timeout, "LANG", bodyLanguage::detect);                                   // 본문 텍스트의 국가 탐지 (최대 2000자 기준, 나머지는 자르고 탐지)
+		node(env, timeout, "USER_AGENT", userAgentAnalysis::detect);                        // 사용자의 OS, Agent 정보를 탐지 및 추가
+		node(env, timeout, "ATT_TEXT", attachAnalysis::setAttachText);                      // 첨부 암호여부, 압축 파일목록, 텍스트 추출, 텍스트 추출 후 관련 분석 기능 실행 필수!! (모든 파일)
+		node(env, timeout, "THUMNAIL", attachAnalysis::setAttachThumbnail, "ATT_TEXT");     // 파일의 썸네일 생성
+		node(env, timeout, "KEYWORD", keywordAnalysis::detect, "ATT_TEXT");                 // 키워드 탐지
+		node(env, timeout, "PRIVACY", privacyAnalysis::detect, "ATT_TEXT");                 // 개인정보 탐지
+
+		// 노드는 다른 노드를 기다리지 않으므로(대기는 호출 쓰레드가 담당) 고정 크기 풀로도 교착이 없다
+		final ExecutorService virtual = "virtual".equalsIgnoreCase(conf.getPipelineThreadMode()) ? VirtualThreads.newPerTaskExecutor("ANALYSIS") : null;
+		this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(Math.max(1, conf.getPipelineAnalyseThreads()) * 4, new NamedThreadFactory("ANALYSIS"));
+		this.timer = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("ANALYSIS-TIMEOUT"));
+		this.timer.setRemoveOnCancelPolicy(true);
+	}
+
+	private void node(final Environment env, final long defaultTimeout, final String name, final AnalysisNode.Task task, final String... after) {
+		final long timeout = env.getProperty("analysis.timeout." + name.toLowerCase(), Long.class, defaultTimeout);
+		for (String dep : after) {
+			if (nodes.stream().noneMatch(n -> n.name().equals(dep))) throw new IllegalStateException("analysis node " + name + " declared before " + dep);
+		}
+		nodes.add(new AnalysisNode(name, List.of(after), timeout, task));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		for (Runnable r : executor.shutdownNow()) {
+			if (r instanceof Submitted s) s.run.abandon(); // 시작 못 한 노드: 기다리는 analyse 가 멈추지 않도록 실패 처리
+		}
+		timer.shutdownNow();
+	}
 
 	public void analyse(final ScanData data) {
+		final Map<String, String> mdc = MDC.getCopyOfContextMap();
+		final Map<String, CompletableFuture<NodeRun>> runs = new HashMap<>();
+		for (AnalysisNode node : nodes) {
+			final List<CompletableFuture<NodeRun>> deps = node.after().stream().map(runs::get).toList();
+			final CompletableFuture<?>[] exits = deps.stream().map(d -> d.thenCompose(run -> run.exited)).toArray(CompletableFuture[]::new);
+			runs.put(node.name(), CompletableFuture.allOf(exits).thenApply(v -> {
+				for (CompletableFuture<NodeRun> dep : deps) {
+					final NodeRun run = dep.join();
+					if (!run.result.join()) log.warn("ANALYSE | {} | {} incomplete, continuing with finished results", node.name(), run.node.name());
+				}
+				return start(node, data, mdc);
+			}));
+		}
+		for (CompletableFuture<NodeRun> run : runs.values()) run.join().exited.join();
+	}
+
+	/**
+	 * 노드 실행 제출 (선행 노드가 모두 끝난 뒤 호출)
+	 */
+	private NodeRun start(final AnalysisNode node, final ScanData data, final Map<String, String> mdc) {
+		final NodeRun run = new NodeRun(node, data, mdc);
 		try {
-			networkGEOLocation.networkGEO(data);         // source ip, dest ip MAXMIND 유틸을 활용하여 국가 탐지
-			bodyLanguage.detect(data);                   // 본문 텍스트의 국가 탐지 (최대 2000자 기준, 나머지는 자르고 탐지)
-			attachAnalysis.setAttachText(data);          // 첨부 암호여부, 압축 파일목록, 텍스트 추출, 텍스트 추출 후 관련 분석 기능 실행 필수!! (모든 파일)
-			attachAnalysis.setAttachThumbnail(data);     // 파일의 썸네일 생성
-			keywordAnalysis.detect(data);                // 키워드 탐지
-			privacyAnalysis.detect(data);                // 개인정보 탐지
-			userAgentAnalysis.detect(data);              // 사용자의 OS, Agent 정보를 탐지 및 추가
-		} catch (Exception e) {
-			log.warn("ANALYSE | {}", e.getMessage());
-			log.error("", e);
+			executor.execute(run.future);
+		} catch (RejectedExecutionException e) {
+			log.warn("ANALYSE | {} | {}", node.name(), e.toString());
+			run.abandon();
+		}
+		return run;
+	}
+
+	private static final class Submitted extends FutureTask<Void> {
+		private final NodeRun run;
+
+		Submitted(final NodeRun run) {
+			super(run::body, null);
+			this.run = run;
+		}
+	}
+
+	/**
+	 * 노드 1회 실행 (결과는 성공/실패/시간 초과 중 먼저 정해진 것 하나만 기록)
+	 * - exited: 작업이 실제로 끝났거나(취소 포함) 취소 후 제한 시간이 더 지나 포기했을 때 완료 → 후속 노드 시작 / analyse 반환 기준
+	 */
+	private final class NodeRun {
+		private final AnalysisNode node;
+		private final ScanData data;
+		private final Map<String, String> mdc;
+		private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+		private final CompletableFuture<Void> exited = new CompletableFuture<>();
+		private final Submitted future = new Submitted(this);
+		private volatile long start;
+
+		NodeRun(final AnalysisNode node, final ScanData data, final Map<String, String> mdc) {
+			this.node = node;
+			this.data = data;
+			this.mdc = mdc;
+		}
+
+		private void body() {
+			if (mdc != null) MDC.setContextMap(mdc);
+			start = System.nanoTime();
+			final ScheduledFuture<?> deadline = schedule();
+			final StopWatch sw = DateUtils.start();
+			try {
+				node.task().run(data);
+				if (finish(StageMetrics.SUCCESS)) log.debug("ANALYSE | {} | {}", node.name(), DateUtils.stop(sw));
+			} catch (Throwable e) {
+				if (finish(StageMetrics.ERROR)) {
+					log.warn("ANALYSE | {} | {}", node.name(), e.getMessage());
+					log.error("", e);
+				}
+			} finally {
+				if (deadline != null) deadline.cancel(false);
+				MDC.clear();
+				exited.complete(null);
+			}
+		}
+
+		private ScheduledFuture<?> schedule() {
+			return schedule(this::timeout);
+		}
+
+		private ScheduledFuture<?> schedule(final Runnable action) {
+			try {
+				return timer.schedule(action, node.timeoutMs(), TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				return null; // 종료 중
+			}
+		}
+
+		private void timeout() {
+			if (!finish(StageMetrics.TIMEOUT)) return;
+			if (mdc != null) MDC.setContextMap(mdc);
+			log.warn("ANALYSE | {} | TIMEOUT {}ms", node.name(), node.timeoutMs());
+			MDC.clear();
+			future.cancel(true);
+			schedule(this::giveUp);
+		}
+
+		/**
+		 * 취소 후에도 제한 시간 동안 끝나지 않은 노드 (후속 노드와 analyse 가 무한히 기다리지 않도록 끝난 것으로 처리)
+		 */
+		private void giveUp() {
+			if (!exited.complete(null)) return;
+			if (mdc != null) MDC.setContextMap(mdc);
+			log.error("ANALYSE | {} | still running {}ms after cancel", node.name(), node.timeoutMs());
+			MDC.clear();
+		}
+
+		/**
+		 * 시작하지 못한 노드 (거절/종료)
+		 */
+		void abandon() {
+			finish(StageMetrics.ERROR);
+			exited.complete(null);
+		}
+
+		private boolean finish(final String outcome) {
+			if (!result.complete(StageMetrics.SUCCESS.equals(outcome))) return false;
+			stageMetrics.record(StageMetrics.ANALYSIS, node.name().toLowerCase(), data.getService(), outcome, start == 0 ? 0L : System.nanoTime() - start);
+			return true;
 		}
 	}
 }
@@ -6,6 +6,9 @@ import com.xcurenet.common.utils.Common;
 import com.xcurenet.common.utils.DateUtils;
 import com.xcurenet.logvault.conf.Config;
 import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter.Dependency;
+import com.xcurenet.logvault.module.pipeline.FanOutExecutor;
 import com.xcurenet.logvault.opensearch.EmassDoc;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -17,7 +20,10 @@ import org.springframework.util.StopWatch;
 import org.springframework.web.client.RestClient;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Log4j2
 @Service
@@ -26,6 +32,8 @@ public class AttachAnalysis {
 	private final RestClient restClient = RestClient.create();
 	private final Config conf;
 	private final FileThumbnail fileThumbnail;
+	private final DependencyLimiter limiter;
+	private final FanOutExecutor fanOut;
 
 	private JSONObject getText(final String msgId, final String filePath, final String fileName) {
 		LinkedMultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
@@ -42,7 +50,7 @@ public class AttachAnalysis {
 		while (attempt < maxRetries) {
 			try {
 				attempt++;
-				return restClient.post().uri(conf.getFileAnalysisUrl()).contentType(MediaType.MULTIPART_FORM_DATA).body(body).retrieve().body(JSONObject.class);
+				return limiter.call(Dependency.FILE_ANALYSIS, () -> restClient.post().uri(conf.getFileAnalysisUrl()).contentType(MediaType.MULTIPART_FORM_DATA).body(body).retrieve().body(JSONObject.class));
 			} catch (Exception e) {
 				log.warn("GET_TEXT | {} | ({}/{}) | {}", filePath, attempt, maxRetries, e.getMessage());
 				if (attempt < maxRetries) Common.sleep(1000);
@@ -55,32 +63,34 @@ public class AttachAnalysis {
 		EmassDoc doc = msg.getEmassDoc();
 		List<EmassDoc.Attach> attaches = doc.getAttach();
 		if (attaches == null) return;
-		for (EmassDoc.Attach attach : attaches) {
-			if (!attach.isExist()) continue;
-			attach.setOcrTarget(false);
+		List<EmassDoc.Attach> targets = attaches.stream().filter(EmassDoc.Attach::isExist).toList();
+		fanOut.forEach("ATT_TEXT", targets, attach -> setAttachText(doc, attach)); // 첨부별 추출 병렬 (메시지당/전체 동시 수 제한)
+	}
 
-			StopWatch sw = DateUtils.start();
-			JSONObject text = getText(doc.getMsgid(), attach.getSrcPath(), attach.getName());
-			if (text != null && text.getBoolean("success")) {
-				JSONObject data = text.getJSONObject("data");
-				String limit = Common.limitLength(data.getString("text"), conf.getTextLimitLength());
-				limit = Common.limitTokenLengthWithSpace(limit, conf.getTextLimitToken());
+	private void setAttachText(final EmassDoc doc, final EmassDoc.Attach attach) {
+		attach.setOcrTarget(false);
+
+		StopWatch sw = DateUtils.start();
+		JSONObject text = getText(doc.getMsgid(), attach.getSrcPath(), attach.getName());
+		if (text != null && text.getBoolean("success")) {
+			JSONObject data = text.getJSONObject("data");
+			String limit = Common.limitLength(data.getString("text"), conf.getTextLimitLength());
+			limit = Common.limitTokenLengthWithSpace(limit, conf.getTextLimitToken());
 
-				attach.setText(limit);
-				attach.setExpectedExtension(data.getString("extension"));
-				attach.setExpectedUnknown(data.getBoolean("unknownType"));
-				attach.setChangeExtension(data.getBoolean("changeExtension"));
-				attach.setEncrypted(data.getBoolean("encrypted"));
+			attach.setText(limit);
+			attach.setExpectedExtension(data.getString("extension"));
+			attach.setExpectedUnknown(data.getBoolean("unknownType"));
+			attach.setChangeExtension(data.getBoolean("changeExtension"));
+			attach.setEncrypted(data.getBoolean("encrypted"));
 
-				String ext = Common.nvl(attach.getExtension());
-				if (conf.getOcrTargetExt().contains(attach.getExpectedExtension()) || conf.getOcrTargetExt().contains(ext)) {
-					attach.setOcrStatus("P"); //PENDING
-					attach.setOcrTarget(true);
-				}
-				log.info("ATT_TEXT | {} | RESULT:{} | TXT_LEN:{} | {}", conf.getDataPathSmall(attach.getSrcPath()), text.get("success"), Common.nvl(attach.getText()).length(), DateUtils.stop(sw));
-			} else {
-				log.warn("ATT_TEXT | {} | {} | TXT_LEN:{} | {}", conf.getDataPathSmall(attach.getSrcPath()), text, Common.nvl(attach.getText()).length(), DateUtils.stop(sw));
+			String ext = Common.nvl(attach.getExtension());
+			if (conf.getOcrTargetExt().contains(attach.getExpectedExtension()) || conf.getOcrTargetExt().contains(ext)) {
+				attach.setOcrStatus("P"); //PENDING
+				attach.setOcrTarget(true);
 			}
+			log.info("ATT_TEXT | {} | RESULT:{} | TXT_LEN:{} | {}", conf.getDataPathSmall(attach.getSrcPath()), text.get("success"), Common.nvl(attach.getText()).length(), DateUtils.stop(sw));
+		} else {
+			log.warn("ATT_TEXT | {} | {} | TXT_LEN:{} | {}", conf.getDataPathSmall(attach.getSrcPath()), text, Common.nvl(attach.getText()).length(), DateUtils.stop(sw));
 		}
 	}
 
@@ -89,26 +99,32 @@ public class AttachAnalysis {
 		try {
 			List<EmassDoc.Attach> attaches = doc.getAttach();
 			if (attaches == null) return;
-			for (EmassDoc.Attach attach : attaches) {
-				if (!attach.isExist()) continue;
-
-				File file = new File(attach.getSrcPath());
-				if (!file.exists()) continue;
 
-				if (!fileThumbnail.isExistThumbnail(attach.getHash())) {
-					StopWatch sw = DateUtils.start();
-					String thumbnail = fileThumbnail.execute(attach.getExpectedExtension(), file, attach.getText());
-					if (thumbnail != null) {
-						fileThumbnail.insertThumbnail(attach.getHash(), thumbnail);
-						log.info("THUMNAIL | {} | {}", conf.getDataPathSmall(attach.getSrcPath()), DateUtils.stop(sw));
-					}
-				}
+			// 같은 해시는 한 번만 생성 (병렬 처리 시 중복 insert 방지)
+			Map<String, EmassDoc.Attach> targets = new LinkedHashMap<>();
+			for (EmassDoc.Attach attach : attaches) {
+				if (attach.isExist() && attach.getHash() != null) targets.putIfAbsent(attach.getHash(), attach);
 			}
+			fanOut.forEach("THUMNAIL", new ArrayList<>(targets.values()), this::setAttachThumbnail);
 		} catch (Exception e) {
 			log.warn("THUMNAIL | {}", e.getMessage());
 		}
 	}
 
+	private void setAttachThumbnail(final EmassDoc.Attach attach) {
+		File file = new File(attach.getSrcPath());
+		if (!file.exists()) return;
+
+		if (!fileThumbnail.isExistThumbnail(attach.getHash())) {
+			StopWatch sw = DateUtils.start();
+			String thumbnail = fileThumbnail.execute(attach.getExpectedExtension(), file, attach.getText());
+			if (thumbnail != null) {
+				fileThumbnail.insertThumbnail(attach.getHash(), thumbnail);
+				log.info("THUMNAIL | {} | {}", conf.getDataPathSmall(attach.getSrcPath()), DateUtils.stop(sw));
+			}
+		}
+	}
+
 	public static void main(String[] args) {
 		StopWatch sw = new StopWatch();
 		sw.start();
@@ -1,5 +1,6 @@
 package com.xcurenet.logvault.module.analysis;
 
+import com.xcurenet.common.ahocorasick.KeywordMatcher;
 import com.xcurenet.common.utils.CollectionUtil;
 import com.xcurenet.common.utils.Common;
 import com.xcurenet.logvault.loader.KeywordLoader;
@@ -10,14 +11,15 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class KeywordAnalysis {
+	private static final int BODY = 0;
+	private static final int ATTACH_NAME = 1;
+	private static final int ATTACH = 2;
 
 	private final KeywordLoader keywordLoader;
 
@@ -28,65 +30,47 @@ public class KeywordAnalysis {
 	public void detect(final EmassDoc doc) {
 		if (Common.isNotEquals(doc.getService().getSvc3(), "S")) return; // 발신 데이터만 처리
 
-		EmassDoc.Body body = doc.getBody();
-		EmassDoc.KeywordInfo keywordInfo = new EmassDoc.KeywordInfo();
-
-		// 본문 키워드 탐지
-		if (body != null && Common.isNotEmpty(body.getText())) {
-			keywordInfo.setBody(checkKeyword(body.getText()));
-		}
+		// 본문 → 첨부 이름 → 첨부 텍스트 순으로 한 번에 탐지 (텍스트마다 최소 건수 기준 적용)
+		try (KeywordMatcher.SectionScan scan = keywordLoader.KEYWORD_MATCHER_REF.get().sections()) {
+			EmassDoc.Body body = doc.getBody();
+			if (body != null && Common.isNotEmpty(body.getText())) scan.add(BODY, body.getText());
+			boolean hasAttach = doc.getAttach() != null && CollectionUtil.isNotEmpty(doc.getAttach());
+			if (hasAttach) {
+				for (EmassDoc.Attach attach : doc.getAttach()) scan.add(ATTACH_NAME, attach.getName());
+				for (EmassDoc.Attach attach : doc.getAttach()) scan.add(ATTACH, attach.getText());
+			}
 
-		// 첨부파일 키워드 탐지
-		if (doc.getAttach() != null && CollectionUtil.isNotEmpty(doc.getAttach())) {
+			List<EmassDoc.KeywordInfo.Keyword> bodyKeywords = new ArrayList<>();
 			List<EmassDoc.KeywordInfo.Keyword> attachNameKeywords = new ArrayList<>();
 			List<EmassDoc.KeywordInfo.Keyword> attachTextKeywords = new ArrayList<>();
-			for (EmassDoc.Attach attach : doc.getAttach()) {
-				List<EmassDoc.KeywordInfo.Keyword> name = checkKeyword(attach.getName());
-				if (name != null) attachNameKeywords.addAll(name);
-
-				List<EmassDoc.KeywordInfo.Keyword> text = checkKeyword(attach.getText());
-				if (text != null) attachTextKeywords.addAll(text);
+			for (int i = 0; i < scan.size(); i++) {
+				EmassDoc.KeywordInfo.Keyword keyword = EmassDoc.KeywordInfo.Keyword.builder().name(scan.name(i)).count(scan.count(i)).build();
+				switch (scan.section(i)) {
+					case BODY -> bodyKeywords.add(keyword);
+					case ATTACH_NAME -> attachNameKeywords.add(keyword);
+					default -> attachTextKeywords.add(keyword);
+				}
 			}
-			log.debug("KEYWORD_ATT_NAME | {}", attachNameKeywords);
-			log.debug("KEYWORD_ATT | {}", attachTextKeywords);
-
-			keywordInfo.setAttachName(attachNameKeywords.isEmpty() ? null : attachNameKeywords);
-			keywordInfo.setAttach(attachTextKeywords.isEmpty() ? null : attachTextKeywords);
-		}
 
-		// 전체 존재 여부
-		keywordInfo.setExist(CollectionUtil.isNotEmpty(keywordInfo.getBody()) || CollectionUtil.isNotEmpty(keywordInfo.getAttachName()) || CollectionUtil.isNotEmpty(keywordInfo.getAttach()));
-
-		// 병합된 keywords 생성
-		if (keywordInfo.isExist()) {
-			List<EmassDoc.KeywordInfo.Keyword> keywords = new ArrayList<>();
-			if (CollectionUtil.isNotEmpty(keywordInfo.getBody())) keywords.addAll(keywordInfo.getBody());
-			if (CollectionUtil.isNotEmpty(keywordInfo.getAttachName())) keywords.addAll(keywordInfo.getAttachName());
-			if (CollectionUtil.isNotEmpty(keywordInfo.getAttach())) keywords.addAll(keywordInfo.getAttach());
-
-			// 중복 키워드 count 합산
-			Map<String, Integer> merged = new LinkedHashMap<>();
-			for (EmassDoc.KeywordInfo.Keyword k : keywords) {
-				merged.merge(k.getName(), k.getCount(), Integer::sum);
+			EmassDoc.KeywordInfo keywordInfo = new EmassDoc.KeywordInfo();
+			keywordInfo.setBody(bodyKeywords.isEmpty() ? null : bodyKeywords);
+			if (hasAttach) {
+				log.debug("KEYWORD_ATT_NAME | {}", attachNameKeywords);
+				log.debug("KEYWORD_ATT | {}", attachTextKeywords);
+				keywordInfo.setAttachName(attachNameKeywords.isEmpty() ? null : attachNameKeywords);
+				keywordInfo.setAttach(attachTextKeywords.isEmpty() ? null : attachTextKeywords);
 			}
 
-			List<EmassDoc.KeywordInfo.Keyword> mergedList = new ArrayList<>();
-			for (Map.Entry<String, Integer> entry : merged.entrySet()) {
-				mergedList.add(EmassDoc.KeywordInfo.Keyword.builder().name(entry.getKey()).count(entry.getValue()).build());
+			// 전체 존재 여부 + 중복 키워드 count 합산 (처음 탐지된 순서)
+			keywordInfo.setExist(scan.size() > 0);
+			if (keywordInfo.isExist()) {
+				List<EmassDoc.KeywordInfo.Keyword> mergedList = new ArrayList<>(scan.mergedSize());
+				for (int i = 0; i < scan.mergedSize(); i++) {
+					mergedList.add(EmassDoc.KeywordInfo.Keyword.builder().name(scan.mergedName(i)).count(scan.mergedCount(i)).build());
+				}
+				keywordInfo.setKeywords(mergedList);
 			}
-			keywordInfo.setKeywords(mergedList);
-		}
-		doc.setKeywordInfo(keywordInfo);
-	}
-
-	private List<EmassDoc.KeywordInfo.Keyword> checkKeyword(final String keyword) {
-		if (keyword == null) return null;
-
-		List<EmassDoc.KeywordInfo.Keyword> result = new ArrayList<>();
-		Map<String, Integer> keywords = keywordLoader.KEYWORD_MATCHER_REF.get().checkKeywordOverMin(keyword);
-		for (String key : keywords.keySet()) {
-			result.add(EmassDoc.KeywordInfo.Keyword.builder().name(key).count(keywords.get(key)).build());
+			doc.setKeywordInfo(keywordInfo);
 		}
-		return result.isEmpty() ? null : result;
 	}
 }
@@ -9,6 +9,8 @@ import com.xcurenet.common.utils.DateUtils;
 import com.xcurenet.logvault.conf.Config;
 import com.xcurenet.logvault.loader.PatternLoader;
 import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter.Dependency;
 import com.xcurenet.logvault.opensearch.EmassDoc;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -32,6 +34,7 @@ public class PrivacyAnalysis {
 	private static final MediaType TEXT_PLAIN_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
 
 	private final Config conf;
+	private final DependencyLimiter limiter;
 	private final RestClient restClient = RestClient.create();
 
 	public void detect(final ScanData scanData) {
@@ -133,7 +136,7 @@ public class PrivacyAnalysis {
 		form.add("text", text);
 		for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
 			try {
-				return restClient.post().uri(conf.getPrivacyAnalysisUrl()).contentType(MediaType.MULTIPART_FORM_DATA).body(form).retrieve().body(JSONObject.class);
+				return limiter.call(Dependency.PRIVACY_API, () -> restClient.post().uri(conf.getPrivacyAnalysisUrl()).contentType(MediaType.MULTIPART_FORM_DATA).body(form).retrieve().body(JSONObject.class));
 			} catch (Exception e) {
 				log.warn("REG_DATA | {} | ({}/{}) | {}", Common.getSummaryText(text), attempt, MAX_RETRIES, e.getMessage());
 				if (attempt < MAX_RETRIES) Common.sleep(RETRY_SLEEP_MS);
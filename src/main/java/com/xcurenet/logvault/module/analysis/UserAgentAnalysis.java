@@ -3,7 +3,7 @@ package com.xcurenet.logvault.module.analysis;
 import com.xcurenet.common.msg.MSGData;
 import com.xcurenet.common.utils.Common;
 import com.xcurenet.common.utils.DateUtils;
-import com.xcurenet.common.utils.FileUtil;
+import com.xcurenet.common.utils.HttpHeaderScanner;
 import com.xcurenet.common.utils.HttpHeaderUtil;
 import com.xcurenet.logvault.conf.Config;
 import com.xcurenet.logvault.module.ScanData;
@@ -13,33 +13,48 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 import ua_parser.Client;
 
-import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
 import java.time.ZonedDateTime;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class UserAgentAnalysis {
+	// 헤더 파일에서 꺼내는 헤더 (위치 = 아래 인덱스)
+	private static final String[] REQUEST_HEADERS = {"origin", "user-agent"};
+	private static final String[] RESPONSE_HEADERS = {"date", "content-type"};
+	private static final int ORIGIN = 0;
+	private static final int USER_AGENT = 1;
+	private static final int DATE = 0;
+	private static final int CONTENT_TYPE = 1;
+
 	private final Config conf;
 
 	public void detect(final ScanData scanData) {
 		try {
 			MSGData msg = scanData.getMsgData();
-			if (msg.getHeader() == null || !new File(conf.getPath(msg.getHeader())).exists()) return;
+			if (msg.getHeader() == null) return;
 
-			final String raw = FileUtil.getText(conf.getPath(msg.getHeader()));
-			HttpHeaderUtil.HttpHeader httpHeader = HttpHeaderUtil.parserHeader(raw);
-			HttpHeaderUtil.HttpHeader.HttpRequestHeader request = httpHeader.getRequestHeader();
-			HttpHeaderUtil.HttpHeader.HttpResponseHeader response = httpHeader.getResponseHeader();
+			final HttpHeaderScanner.Result header;
+			try (InputStream in = new FileInputStream(conf.getPath(msg.getHeader()))) { // 파일 존재는 INFO 확인 단계에서 확인됨
+				header = HttpHeaderScanner.scan(in, REQUEST_HEADERS, RESPONSE_HEADERS);
+			} catch (FileNotFoundException e) {
+				return;
+			}
+			if (header == null) return;
+			log.debug("USER_AGENT | {} {} {} | {} {} | {}", header.getMethod(), header.getUrl(), header.getProtocol(), header.getResponseProtocol(), header.getStatus(), header.request(USER_AGENT));
 
-			EmassDoc.Header.RequestHeader requestHeader = EmassDoc.Header.RequestHeader.builder().method(request.getMethod()).protocol(request.getProtocol()).origin(request.getHeaders().get("origin")).build();
-			EmassDoc.Header.ResponseHeader responseHeader = EmassDoc.Header.ResponseHeader.builder().date(getHeaderDate(response)).contentType(response.getHeaders().get("content-type")).build();
+			EmassDoc.Header.RequestHeader requestHeader = EmassDoc.Header.RequestHeader.builder().method(header.getMethod()).protocol(header.getProtocol()).origin(header.request(ORIGIN)).build();
+			EmassDoc.Header.ResponseHeader responseHeader = EmassDoc.Header.ResponseHeader.builder().date(getHeaderDate(header.response(DATE))).contentType(header.response(CONTENT_TYPE)).build();
 			scanData.getEmassDoc().getHttp().setHeader(EmassDoc.Header.builder().request(requestHeader).response(responseHeader).build());
 
-			Client client = httpHeader.getClient();
+			final String agentString = header.request(USER_AGENT);
+			Client client = HttpHeaderUtil.parse(agentString);
 			if (client != null) {
 				EmassDoc.Agent agent = new EmassDoc.Agent();
-				agent.setRaw(httpHeader.getAgentString());
+				agent.setRaw(agentString);
 				agent.setDevice(client.device != null ? client.device.family : null);
 				agent.setOs(client.os != null ? client.os.family : null);
 				agent.setOsVersion(client.os != null ? client.os.major : null);
@@ -53,8 +68,7 @@ public class UserAgentAnalysis {
 
 	}
 
-	private ZonedDateTime getHeaderDate(final HttpHeaderUtil.HttpHeader.HttpResponseHeader response) {
-		String date = response.getHeaders().get("date");
+	private ZonedDateTime getHeaderDate(final String date) {
 		if (Common.isNotEmpty(date)) {
 			return ZonedDateTime.parse(date, DateUtils.RESPONSE_DATETIME);
 		}
@@ -7,6 +7,7 @@ import com.xcurenet.logvault.conf.Config;
 import com.xcurenet.logvault.fs.FileProcessor;
 import com.xcurenet.logvault.fs.FileSystemService;
 import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.scanner.EnqueuedRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FileUtils;
@@ -22,6 +23,7 @@ import java.util.List;
 public class ClearService {
 	protected final Config conf;
 	protected final FileProcessor fileProcessor;
+	protected final EnqueuedRegistry enqueuedRegistry;
 
 	public void clear(final ScanData data) {
 		StopWatch sw = DateUtils.start();
@@ -31,6 +33,7 @@ public class ClearService {
 		boolean headerDeleted = false;
 		boolean attachDeleted = false;
 		remove(data.getFilePath(), msg);
+		enqueuedRegistry.release(data); // MSG 파일이 사라졌으므로 중복 방지 해제
 		boolean msgDeleted = true;
 
 		if (msg != null) {
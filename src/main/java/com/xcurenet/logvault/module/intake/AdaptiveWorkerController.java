@@ -0,0 +1,167 @@
+package com.xcurenet.logvault.module.intake;
+
+import com.xcurenet.logvault.conf.Config;
+import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter.Dependency;
+import com.xcurenet.logvault.module.pipeline.RetryScheduler;
+import com.xcurenet.logvault.module.pipeline.StagedPipeline;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인입 Worker 활성 수 자동 조절 (worker.adaptive.enable=true)
+ * - worker.size.max 개의 Worker 쓰레드를 띄워 두고, 슬롯 번호가 활성 수 이상인 Worker 는 꺼내지 않고 대기한다 (쓰레드 생성/종료 없음)
+ * - 늘림: 인입 적체(큐 건수 > 활성 수 또는 가장 오래 기다린 파일 > worker.adaptive.lag.sec)가 2회 연속이고 뒷단 압력이 낮을 때 +1
+ * - 줄임(백오프): 뒷단 압력이 높으면(파이프라인 단계 큐 80% 이상, OpenSearch/분석 동시 호출 상한 90% 이상,
+ *   지연 재처리 대기 건수가 단계 용량의 80% 이상) 1/4 감소 — 재처리 몇 건은 압력으로 보지 않는다
+ * - 줄임(유휴): 적체 없는 상태가 6회 연속이면 -1 (worker.size.min 까지)
+ * - 변경 직후 1회는 판단하지 않는다 (진동 방지)
+ * - 지표: app.worker.active, app.worker.pressure
+ */
+@Log4j2
+@Component
+public class AdaptiveWorkerController {
+	private static final double HIGH_PRESSURE = 0.8;
+	private static final double HIGH_SATURATION = 0.9;
+	private static final double LOW_PRESSURE = 0.5;
+	private static final int GROW_TICKS = 2;
+	private static final int SHRINK_TICKS = 6;
+
+	private final IntakeServiceRegistry intakeServices;
+	private final StagedPipeline pipeline;
+	private final DependencyLimiter limiter;
+	private final RetryScheduler retryScheduler;
+
+	@Getter
+	private final boolean enabled;
+	private final int min;
+	@Getter
+	private final int max;
+	private final long lagMs;
+	private final AtomicInteger active = new AtomicInteger();
+	private final Object gate = new Object();
+
+	private volatile double pressure;
+	private volatile boolean started;
+	private int growTicks;
+	private int idleTicks;
+	private boolean cooldown;
+
+	public AdaptiveWorkerController(final Config conf, final IntakeServiceRegistry intakeServices, final StagedPipeline pipeline, final DependencyLimiter limiter, final RetryScheduler retryScheduler, final MeterRegistry registry) {
+		this.intakeServices = intakeServices;
+		this.pipeline = pipeline;
+		this.limiter = limiter;
+		this.retryScheduler = retryScheduler;
+
+		final int total = intakeServices.getTotalWorkers();
+		this.enabled = conf.isWorkerAdaptiveEnable() && total > 0;
+		this.max = enabled ? Math.max(total, conf.getWorkerSizeMax() > 0 ? conf.getWorkerSizeMax() : total * 2) : total;
+		this.min = Math.max(1, Math.min(conf.getWorkerSizeMin(), max));
+		this.lagMs = conf.getWorkerAdaptiveLagSec() * 1000L;
+		this.active.set(total);
+
+		Gauge.builder("app.worker.active", active, AtomicInteger::get).description("Intake workers allowed to take work").register(registry);
+		Gauge.builder("app.worker.pressure", this, c -> c.pressure).description("Downstream pressure seen by the worker controller (0..1)").register(registry);
+	}
+
+	/**
+	 * 띄워 둘 Worker 쓰레드 수 (자동 조절 시 worker.size.max)
+	 */
+	public int getThreads() {
+		return max;
+	}
+
+	public void start() {
+		started = true;
+		if (enabled) log.info("ADAPTIVE_WORKER | start | active={} | min={} | max={}", active.get(), min, max);
+	}
+
+	/**
+	 * 슬롯이 비활성이면 활성화되거나 timeout 이 지날 때까지 대기
+	 *
+	 * @return 활성 슬롯이면 true
+	 */
+	public boolean awaitActive(final int slot, final long timeoutMs) throws InterruptedException {
+		if (slot < active.get()) return true;
+		synchronized (gate) {
+			if (slot >= active.get()) gate.wait(timeoutMs);
+		}
+		return slot < active.get();
+	}
+
+	@Scheduled(fixedDelayString = "${worker.adaptive.interval-ms:5000}")
+	public synchronized void tick() {
+		if (!enabled || !started) return;
+
+		pressure = downstreamPressure();
+		if (cooldown) {
+			cooldown = false;
+			return;
+		}
+
+		final int current = active.get();
+		long backlog = 0;
+		long oldestMs = 0;
+		final long now = System.currentTimeMillis();
+		for (IntakeService service : intakeServices.getServices()) {
+			backlog += service.getQueue().size();
+			final ScanData head = service.getQueue().peek();
+			if (head != null) oldestMs = Math.max(oldestMs, now - head.getLastModified());
+		}
+
+		if (pressure >= HIGH_PRESSURE) {
+			growTicks = 0;
+			resize(current - Math.max(1, current / 4), "backoff", backlog, oldestMs);
+			return;
+		}
+
+		final boolean behind = backlog > current || (lagMs > 0 && oldestMs > lagMs);
+		if (behind && pressure < LOW_PRESSURE) {
+			idleTicks = 0;
+			if (++growTicks >= GROW_TICKS) {
+				growTicks = 0;
+				resize(current + 1, "grow", backlog, oldestMs);
+			}
+		} else if (backlog == 0) {
+			growTicks = 0;
+			if (++idleTicks >= SHRINK_TICKS) {
+				idleTicks = 0;
+				resize(current - 1, "idle", backlog, oldestMs);
+			}
+		} else {
+			growTicks = 0;
+			idleTicks = 0;
+		}
+	}
+
+	/**
+	 * 뒷단 압력 (0..1): 파이프라인 단계 큐 점유율, 원격 시스템 동시 호출 포화도, 지연 재처리 대기 건수 / 단계 용량 중 최대값
+	 */
+	private double downstreamPressure() {
+		double p = pipeline.getPressure();
+		for (Dependency dependency : new Dependency[]{Dependency.OPENSEARCH, Dependency.FILE_ANALYSIS, Dependency.PRIVACY_API}) {
+			final double saturation = limiter.saturation(dependency);
+			if (saturation >= HIGH_SATURATION) p = Math.max(p, saturation);
+		}
+		p = Math.max(p, Math.min(1d, (double) retryScheduler.getPending() / pipeline.getCapacity())); // 저장소/색인 실패가 쌓일 때만
+		return p;
+	}
+
+	private void resize(final int target, final String reason, final long backlog, final long oldestMs) {
+		final int next = Math.max(min, Math.min(max, target));
+		final int prev = active.getAndSet(next);
+		if (prev == next) return;
+		cooldown = true;
+		synchronized (gate) {
+			gate.notifyAll();
+		}
+		log.info("ADAPTIVE_WORKER | {} | {} -> {} | backlog={} | oldest={}s | pressure={}", reason, prev, next, backlog, oldestMs / 1000, String.format("%.2f", pressure));
+	}
+}
@@ -0,0 +1,53 @@
+package com.xcurenet.logvault.module.intake;
+
+import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.scanner.ScanMode;
+import com.xcurenet.logvault.module.worker.AbstractWorker;
+import lombok.Getter;
+import org.springframework.context.ApplicationContext;
+
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 인입 서비스 1건 (예: wmail)
+ * - 서비스별 인입 디렉터리, 감시 방식, 적재 큐, 처리 Worker 클래스를 가진다
+ * - workers 는 공용 Worker 수 산정(합계)과 기본 가중치에, weight 는 백로그가 겹칠 때의 배분 비율에 쓰인다
+ * - maxInFlight 는 한 서비스가 동시에 점유할 수 있는 Worker 상한 (유입이 몰려도 다른 서비스 몫을 남김)
+ */
+@Getter
+public class IntakeService {
+	private final int index;
+	private final String name;
+	private final String dir;
+	private final ScanMode mode;
+	private final int workers;
+	private final int weight;
+	private final int maxInFlight;
+	private final Class<? extends AbstractWorker> workerClass;
+	private final BlockingQueue<ScanData> queue;
+
+	// WeightedFairScheduler 전용 상태 (스케줄러 lock 보유 상태에서만 접근)
+	long currentWeight;
+	int inFlight;
+
+	IntakeService(final int index, final String name, final String dir, final ScanMode mode, final int workers, final int weight, final int maxInFlight, final Class<? extends AbstractWorker> workerClass, final BlockingQueue<ScanData> queue) {
+		this.index = index;
+		this.name = name;
+		this.dir = dir;
+		this.mode = mode;
+		this.workers = workers;
+		this.weight = weight;
+		this.maxInFlight = maxInFlight;
+		this.workerClass = workerClass;
+		this.queue = queue;
+	}
+
+	public AbstractWorker newWorker(final ApplicationContext context) throws ReflectiveOperationException {
+		return workerClass.getDeclaredConstructor(ApplicationContext.class).newInstance(context);
+	}
+
+	@Override
+	public String toString() {
+		return name + "(dir=" + dir + ", mode=" + mode + ", workers=" + workers + ", weight=" + weight + ", max=" + maxInFlight + ", worker=" + workerClass.getSimpleName() + ")";
+	}
+}
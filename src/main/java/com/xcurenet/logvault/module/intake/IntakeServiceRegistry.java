@@ -0,0 +1,101 @@
+package com.xcurenet.logvault.module.intake;
+
+import com.xcurenet.common.utils.Common;
+import com.xcurenet.common.utils.TimeBucketBlockingQueue;
+import com.xcurenet.logvault.LogVaultApplication;
+import com.xcurenet.logvault.conf.Config;
+import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.scanner.ScanMode;
+import com.xcurenet.logvault.module.worker.AbstractWorker;
+import com.xcurenet.logvault.module.worker.MSGWorker;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 인입 서비스 레지스트리 (intake.services 목록)
+ * - 서비스별 설정 키: scan.dir.enable.{svc}, scan.dir.{svc}, scan.mode.{svc}, worker.size.{svc}, worker.weight.{svc}, worker.max.{svc}, worker.class.{svc}
+ * - wmail 은 기존 Config 항목을 기본값으로 사용한다
+ * - 공용 Worker 수는 worker.size.total (0 이면 서비스별 worker.size 합계)
+ */
+@Log4j2
+@Component
+public class IntakeServiceRegistry {
+
+	private static final String WMAIL = "wmail";
+
+	private final Config conf;
+	private final Environment env;
+
+	@Getter
+	private final List<IntakeService> services;
+	@Getter
+	private final WeightedFairScheduler scheduler;
+	@Getter
+	private final int totalWorkers;
+
+	public IntakeServiceRegistry(final Config conf, final Environment env) {
+		this.conf = conf;
+		this.env = env;
+
+		final Set<String> names = new LinkedHashSet<>();
+		for (String name : Common.nvl(conf.getIntakeServices()).split(",")) {
+			if (Common.isNotEmpty(name.trim())) names.add(name.trim().toLowerCase());
+		}
+
+		// 큐 적재 알림이 스케줄러를 깨우도록 스케줄러를 먼저 만들고 서비스를 채운다
+		final List<IntakeService> loaded = new ArrayList<>();
+		this.scheduler = new WeightedFairScheduler(loaded);
+		int sum = 0;
+		for (String name : names) {
+			final IntakeService service = load(loaded.size(), name, scheduler::signal);
+			if (service == null) continue;
+			loaded.add(service);
+			sum += service.getWorkers();
+		}
+		this.services = Collections.unmodifiableList(loaded);
+		this.totalWorkers = conf.getWorkerSizeTotal() > 0 ? conf.getWorkerSizeTotal() : sum;
+
+		for (IntakeService service : services) log.info("INTAKE | {}", service);
+		log.info("INTAKE | services={} | workers={}", services.size(), totalWorkers);
+	}
+
+	private IntakeService load(final int index, final String name, final Runnable onEnqueue) {
+		final boolean wmail = WMAIL.equals(name);
+		final boolean enable = env.getProperty("scan.dir.enable." + name, Boolean.class, !wmail || conf.isEnableWmail());
+		if (!enable) return null;
+
+		final String dir = env.getProperty("scan.dir." + name, wmail ? conf.getDirWmail() : "");
+		if (Common.isEmpty(dir)) {
+			log.warn("INTAKE | {} | scan.dir.{} is not set, skipped", name, name);
+			return null;
+		}
+
+		final ScanMode mode = ScanMode.of(env.getProperty("scan.mode." + name, wmail ? conf.getScanModeWmail() : null));
+		final int workers = Math.max(1, env.getProperty("worker.size." + name, Integer.class, wmail ? conf.getWorkerSizeWmail() : 1));
+		final int weight = Math.max(1, env.getProperty("worker.weight." + name, Integer.class, workers));
+		final int max = env.getProperty("worker.max." + name, Integer.class, 0);
+		final Class<? extends AbstractWorker> workerClass = workerClass(name, env.getProperty("worker.class." + name));
+
+		// 오래된 파일 우선(lastModified 초 단위 버킷) + 실제 용량 제한
+		final TimeBucketBlockingQueue<ScanData> queue = new TimeBucketBlockingQueue<>(LogVaultApplication.QUEUE_CAPACITY, 1000L, ScanData::getLastModified, onEnqueue);
+		return new IntakeService(index, name, dir, mode, workers, weight, max > 0 ? max : Integer.MAX_VALUE, workerClass, queue);
+	}
+
+	private Class<? extends AbstractWorker> workerClass(final String name, final String className) {
+		if (Common.isEmpty(className)) return MSGWorker.class;
+		try {
+			return Class.forName(className.trim()).asSubclass(AbstractWorker.class);
+		} catch (ClassNotFoundException | ClassCastException e) {
+			log.warn("INTAKE | {} | invalid worker.class.{}={}, {} used", name, name, className, MSGWorker.class.getSimpleName());
+			return MSGWorker.class;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.xcurenet.logvault.module.intake;
+
+import com.xcurenet.logvault.module.pipeline.StagedPipeline;
+import lombok.extern.log4j.Log4j2;
+import org.slf4j.MDC;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 공용 인입 Worker 쓰레드
+ * - {@link WeightedFairScheduler} 에서 서비스 구분 없이 다음 건을 받아 {@link StagedPipeline} 에 넣는다
+ * - 파이프라인의 PARSE 단계는 이 쓰레드에서 실행된다
+ * - 슬롯 번호가 {@link AdaptiveWorkerController} 의 활성 수 이상이면 꺼내지 않고 대기한다
+ */
+@Log4j2
+public class IntakeWorker implements Runnable {
+	private final WeightedFairScheduler scheduler;
+	private final StagedPipeline pipeline;
+	private final AdaptiveWorkerController controller;
+	private final int slot;
+	private final AtomicBoolean run;
+
+	public IntakeWorker(final IntakeServiceRegistry registry, final StagedPipeline pipeline, final AdaptiveWorkerController controller, final int slot, final AtomicBoolean run) {
+		this.scheduler = registry.getScheduler();
+		this.pipeline = pipeline;
+		this.controller = controller;
+		this.slot = slot;
+		this.run = run;
+	}
+
+	@Override
+	public void run() {
+		MDC.put("worker", Thread.currentThread().getName());
+
+		while (run.get()) {
+			final WeightedFairScheduler.Polled polled;
+			try {
+				if (!controller.awaitActive(slot, 1000L)) continue;
+				polled = scheduler.poll(1, TimeUnit.SECONDS);
+			} catch (final InterruptedException e) {
+				continue;
+			}
+			if (polled == null) continue;
+
+			pipeline.accept(polled.service(), polled.data());
+		}
+	}
+}
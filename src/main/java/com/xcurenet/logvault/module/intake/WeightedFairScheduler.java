@@ -0,0 +1,125 @@
+package com.xcurenet.logvault.module.intake;
+
+import com.xcurenet.logvault.module.ScanData;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서비스별 큐를 가중치 공정 분배(smooth weighted round-robin)로 꺼내는 스케줄러
+ * - 적재된 건이 있고 maxInFlight 미만인 서비스만 후보가 된다 (유휴 서비스는 Worker 를 점유하지 않음)
+ * - 후보가 여럿이면 weight 비율로 번갈아 꺼내므로 한 서비스에 유입이 몰려도 다른 서비스가 굶지 않는다
+ * - 모든 큐가 비었으면 블로킹 대기하고, 큐 적재(onEnqueue) 또는 처리 완료(complete) 시 깨어난다
+ */
+public class WeightedFairScheduler {
+
+	public record Polled(IntakeService service, ScanData data) {
+	}
+
+	private final List<IntakeService> services;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition available = lock.newCondition();
+	private final AtomicInteger waiting = new AtomicInteger();
+
+	WeightedFairScheduler(final List<IntakeService> services) {
+		this.services = services;
+	}
+
+	/**
+	 * @return 다음 처리 대상, timeout 내에 없으면 null
+	 */
+	public Polled poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+		long nanos = unit.toNanos(timeout);
+		lock.lockInterruptibly();
+		try {
+			while (true) {
+				final IntakeService service = select();
+				if (service != null) {
+					final ScanData data = service.getQueue().poll();
+					if (data != null) {
+						service.inFlight++;
+						return new Polled(service, data);
+					}
+				}
+				if (nanos <= 0L) return null;
+
+				waiting.incrementAndGet();
+				try {
+					// 대기 등록 후 재확인: 등록 전에 적재된 건의 signal 누락 방지
+					if (hasCandidate()) continue;
+					nanos = available.awaitNanos(nanos);
+				} finally {
+					waiting.decrementAndGet();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * poll 로 꺼낸 건의 처리가 끝나면 반드시 호출 (서비스 동시 처리 수 반환)
+	 */
+	public void complete(final IntakeService service) {
+		lock.lock();
+		try {
+			service.inFlight--;
+			if (waiting.get() > 0) available.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 서비스 큐 적재 알림 (큐 락 밖에서 호출됨)
+	 */
+	void signal() {
+		if (waiting.get() == 0) return;
+		lock.lock();
+		try {
+			available.signal();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int inFlight(final IntakeService service) {
+		lock.lock();
+		try {
+			return service.inFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private boolean isCandidate(final IntakeService service) {
+		return service.inFlight < service.getMaxInFlight() && !service.getQueue().isEmpty();
+	}
+
+	private boolean hasCandidate() {
+		for (IntakeService service : services) {
+			if (isCandidate(service)) return true;
+		}
+		return false;
+	}
+
+	private IntakeService select() {
+		IntakeService best = null;
+		long total = 0L;
+		for (IntakeService service : services) {
+			if (!isCandidate(service)) {
+				// 유휴 서비스가 누적 가중치를 들고 돌아와 몰아서 가져가지 않도록 초기화
+				if (service.getQueue().isEmpty()) service.currentWeight = 0L;
+				continue;
+			}
+			service.currentWeight += service.getWeight();
+			total += service.getWeight();
+			if (best == null || service.currentWeight > best.currentWeight) best = service;
+		}
+		if (best != null) best.currentWeight -= total;
+		return best;
+	}
+}
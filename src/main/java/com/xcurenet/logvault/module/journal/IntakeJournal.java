@@ -0,0 +1,262 @@
+package com.xcurenet.logvault.module.journal;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+import com.xcurenet.logvault.conf.Config;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인입 처리 저널 (재시작 시 전체 재처리 방지)
+ * - journal.log : "STAGE msgId" 한 줄씩 append 하는 로컬 파일. 처리 중(CLEARED 이전) 메시지의 마지막 단계를 복원한다
+ * - journal.bloom : 완료(INDEXED 이상) msgId Bloom 필터. 원본이 다시 나타나도 새 메시지는 원격 확인 없이 바로 통과시킨다
+ * - 주기적으로 처리 중 항목만 남기도록 저널을 다시 쓰고(compaction), Bloom 필터를 저장한다
+ * - compaction 마다 세대를 올리고 journal.expire.generations 이상 갱신되지 않은 처리 중 항목은 버린다
+ *   (원본이 사라져 CLEARED 가 오지 않는 항목 누적 방지, 세대 나이는 "STAGE msgId\t나이" 로 재시작 후에도 이어진다)
+ * <p>
+ * Bloom 필터는 오탐이 있으므로 mightBeCompleted 가 true 일 때만 호출자가 색인 존재 여부로 확정해야 한다.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class IntakeJournal {
+
+	private static final String JOURNAL_FILE = "journal.log";
+	private static final String BLOOM_FILE = "journal.bloom";
+	private static final Funnel<CharSequence> FUNNEL = Funnels.stringFunnel(StandardCharsets.UTF_8);
+
+	private final Config conf;
+
+	private record Entry(JournalStage stage, long generation) {
+	}
+
+	private final ConcurrentHashMap<String, Entry> inflight = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+	private final Object writeLock = new Object();
+
+	// 완료 Bloom 필터 2세대 (current 가 예상 건수에 도달하면 previous 로 넘기고 새로 만든다)
+	private volatile BloomFilter<CharSequence> current;
+	private volatile BloomFilter<CharSequence> previous;
+
+	private Path journalPath;
+	private Path bloomPath;
+	private volatile FileOutputStream out;
+
+	@PostConstruct
+	public void open() {
+		if (!conf.isJournalEnable()) return;
+		try {
+			final Path dir = Paths.get(conf.getJournalPath());
+			Files.createDirectories(dir);
+			journalPath = dir.resolve(JOURNAL_FILE);
+			bloomPath = dir.resolve(BLOOM_FILE);
+
+			loadBloom();
+			final int replayed = replay();
+			out = new FileOutputStream(journalPath.toFile(), true);
+			log.info("JOURNAL | {} | replayed={} | inflight={} | bloom={}", dir, replayed, inflight.size(), current.approximateElementCount());
+		} catch (IOException e) {
+			log.warn("JOURNAL | open failed, journal disabled | {}", e.toString());
+			out = null;
+		}
+	}
+
+	@PreDestroy
+	public void close() {
+		compact();
+		synchronized (writeLock) {
+			closeQuietly();
+			out = null;
+		}
+	}
+
+	public boolean isEnabled() {
+		return out != null;
+	}
+
+	/**
+	 * @return 이전 실행에서 기록된 마지막 단계 (CLEARED 이전 항목만), 없으면 null
+	 */
+	public JournalStage stageOf(final String msgId) {
+		if (msgId == null || !isEnabled()) return null;
+		final Entry e = inflight.get(msgId);
+		return e == null ? null : e.stage();
+	}
+
+	/**
+	 * 완료(INDEXED 이상)된 적이 있을 수 있으면 true. false 면 확실히 처음 보는 msgId
+	 */
+	public boolean mightBeCompleted(final String msgId) {
+		if (msgId == null || !isEnabled()) return false;
+		final BloomFilter<CharSequence> prev = previous;
+		return current.mightContain(msgId) || (prev != null && prev.mightContain(msgId));
+	}
+
+	public void mark(final String msgId, final JournalStage stage) {
+		if (msgId == null || stage == null || !isEnabled()) return;
+		if (stage == JournalStage.CLEARED) inflight.remove(msgId);
+		else inflight.put(msgId, new Entry(stage, generation.get()));
+		if (stage != JournalStage.STORED) putCompleted(msgId);
+
+		final byte[] line = (stage.name() + ' ' + msgId + '\n').getBytes(StandardCharsets.UTF_8);
+		synchronized (writeLock) {
+			if (out == null) return;
+			try {
+				out.write(line);
+				if (conf.isJournalFsync()) out.getFD().sync();
+			} catch (IOException e) {
+				log.warn("JOURNAL | {} | {} | {}", stage, msgId, e.toString());
+			}
+		}
+	}
+
+	/**
+	 * 처리 중 항목만 남기도록 저널을 다시 쓰고 Bloom 필터를 저장한다 (임시 파일 작성 후 원자적 교체)
+	 * - 세대를 올리고 journal.expire.generations 이상 지난 항목은 버린다 (재시작 시 처음부터 다시 처리될 뿐 유실은 없다)
+	 */
+	@Scheduled(fixedDelayString = "${journal.compact.interval-ms:600000}", initialDelayString = "${journal.compact.interval-ms:600000}")
+	public void compact() {
+		if (!isEnabled()) return;
+		synchronized (writeLock) {
+			if (out == null) return;
+			try {
+				final Path tmp = journalPath.resolveSibling(JOURNAL_FILE + ".tmp");
+				final long gen = generation.incrementAndGet();
+				final long oldest = gen - Math.max(1, conf.getJournalExpireGenerations());
+				int count = 0;
+				int expired = 0;
+				try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+					for (Map.Entry<String, Entry> e : inflight.entrySet()) {
+						final Entry entry = e.getValue();
+						if (entry.generation() < oldest) {
+							if (inflight.remove(e.getKey(), entry)) expired++;
+							continue;
+						}
+						writer.write(entry.stage().name() + ' ' + e.getKey() + '\t' + (gen - entry.generation()) + '\n');
+						count++;
+					}
+				}
+				saveBloom();
+				out.close();
+				Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				out = new FileOutputStream(journalPath.toFile(), true);
+				log.info("JOURNAL | compacted | generation={} | inflight={} | expired={} | bloom={}", gen, count, expired, current.approximateElementCount());
+			} catch (IOException e) {
+				log.warn("JOURNAL | compaction failed | {}", e.toString());
+				reopen();
+			}
+		}
+	}
+
+	private int replay() throws IOException {
+		if (!Files.exists(journalPath)) return 0;
+		final Map<String, JournalStage> last = new HashMap<>();
+		final Map<String, Long> ages = new HashMap<>();
+		int lines = 0;
+		try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				final int idx = line.indexOf(' ');
+				if (idx <= 0 || idx == line.length() - 1) continue; // 비정상 종료로 잘린 줄
+				final JournalStage stage = JournalStage.of(line.substring(0, idx));
+				if (stage == null) continue;
+				final int tab = line.indexOf('\t', idx + 1);
+				final String msgId = tab < 0 ? line.substring(idx + 1) : line.substring(idx + 1, tab);
+				if (msgId.isEmpty()) continue;
+				if (stage.isAfter(last.get(msgId))) last.put(msgId, stage);
+				ages.put(msgId, tab < 0 ? 0L : parseAge(line.substring(tab + 1))); // compaction 이후 새로 기록된 줄은 나이 0
+				lines++;
+			}
+		}
+		for (Map.Entry<String, JournalStage> e : last.entrySet()) {
+			if (e.getValue() != JournalStage.STORED) putCompleted(e.getKey());
+			if (e.getValue() != JournalStage.CLEARED) inflight.put(e.getKey(), new Entry(e.getValue(), -ages.getOrDefault(e.getKey(), 0L)));
+		}
+		return lines;
+	}
+
+	private static long parseAge(final String value) {
+		try {
+			return Math.max(0L, Long.parseLong(value.trim()));
+		} catch (NumberFormatException e) {
+			return 0L;
+		}
+	}
+
+	private void putCompleted(final String msgId) {
+		BloomFilter<CharSequence> bloom = current;
+		if (bloom.approximateElementCount() >= conf.getJournalBloomExpectedInsertions()) {
+			synchronized (this) {
+				if (current == bloom) {
+					previous = bloom;
+					current = newBloom();
+				}
+				bloom = current;
+			}
+		}
+		bloom.put(msgId);
+	}
+
+	private BloomFilter<CharSequence> newBloom() {
+		return BloomFilter.create(FUNNEL, Math.max(1000, conf.getJournalBloomExpectedInsertions()), conf.getJournalBloomFpp());
+	}
+
+	private void loadBloom() {
+		current = newBloom();
+		previous = null;
+		if (!Files.exists(bloomPath)) return;
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(bloomPath))) {
+			current = BloomFilter.readFrom(in, FUNNEL);
+			if (in.available() > 0) previous = BloomFilter.readFrom(in, FUNNEL);
+		} catch (IOException | RuntimeException e) {
+			log.warn("JOURNAL | bloom load failed, starting empty | {}", e.toString());
+			current = newBloom();
+			previous = null;
+		}
+	}
+
+	private void saveBloom() throws IOException {
+		final Path tmp = bloomPath.resolveSibling(BLOOM_FILE + ".tmp");
+		try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING))) {
+			current.writeTo(os);
+			final BloomFilter<CharSequence> prev = previous;
+			if (prev != null) prev.writeTo(os);
+		}
+		Files.move(tmp, bloomPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void reopen() {
+		try {
+			closeQuietly();
+			out = new FileOutputStream(journalPath.toFile(), true);
+		} catch (IOException e) {
+			log.warn("JOURNAL | reopen failed, journal disabled | {}", e.toString());
+			out = null;
+		}
+	}
+
+	private void closeQuietly() {
+		if (out == null) return;
+		try {
+			out.close();
+		} catch (IOException ignored) {
+		}
+	}
+}
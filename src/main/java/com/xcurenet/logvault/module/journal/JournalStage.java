@@ -0,0 +1,23 @@
+package com.xcurenet.logvault.module.journal;
+
+/**
+ * 메시지 처리 진행 단계 (저널 기록 단위)
+ * - STORED  : 본문/첨부 전송 완료 → 재시작 시 재전송 생략
+ * - INDEXED : 색인/알림/후처리 완료 → 재시작 시 원본 정리(Clear)만 수행
+ * - CLEARED : 원본 정리까지 완료 (저널에서 제거, 완료 Bloom 필터에만 남음)
+ */
+public enum JournalStage {
+	STORED, INDEXED, CLEARED;
+
+	public static JournalStage of(final String value) {
+		try {
+			return valueOf(value);
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return null;
+		}
+	}
+
+	public boolean isAfter(final JournalStage other) {
+		return other == null || ordinal() > other.ordinal();
+	}
+}
@@ -0,0 +1,77 @@
+package com.xcurenet.logvault.module.pipeline;
+
+import com.xcurenet.logvault.conf.Config;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 외부 의존성별 동시 호출 상한 (세마포어)
+ * - 처리 쓰레드 수(가상 쓰레드 포함)와 무관하게 각 원격 시스템으로 나가는 동시 요청 수를 제한한다
+ * - 대기는 허가를 얻을 때까지 블로킹 (가상 쓰레드에서는 캐리어 쓰레드를 점유하지 않음)
+ * - 지표: app.dependency.inflight{dependency}
+ */
+@Log4j2
+@Component
+public class DependencyLimiter {
+
+	public enum Dependency {
+		FILE_ANALYSIS, PRIVACY_API, STORAGE, OPENSEARCH, DATABASE
+	}
+
+	@FunctionalInterface
+	public interface Call {
+		void run() throws Exception;
+	}
+
+	private final Map<Dependency, Semaphore> permits = new EnumMap<>(Dependency.class);
+	private final Map<Dependency, Integer> limits = new EnumMap<>(Dependency.class);
+
+	public DependencyLimiter(final Config conf, final MeterRegistry registry) {
+		register(Dependency.FILE_ANALYSIS, conf.getLimitFileAnalysis(), registry);
+		register(Dependency.PRIVACY_API, conf.getLimitPrivacyApi(), registry);
+		register(Dependency.STORAGE, conf.getLimitStorage(), registry);
+		register(Dependency.OPENSEARCH, conf.getLimitOpensearch(), registry);
+		register(Dependency.DATABASE, conf.getLimitDatabase(), registry);
+		log.info("LIMITER | {}", permits.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue().availablePermits()).toList());
+	}
+
+	private void register(final Dependency dependency, final int limit, final MeterRegistry registry) {
+		final int size = Math.max(1, limit);
+		final Semaphore semaphore = new Semaphore(size, true);
+		permits.put(dependency, semaphore);
+		limits.put(dependency, size);
+		Gauge.builder("app.dependency.inflight", semaphore, s -> size - s.availablePermits()).description("In-flight calls per external dependency").tag("dependency", dependency.name().toLowerCase()).register(registry);
+	}
+
+	/**
+	 * @return 동시 호출 상한 사용률 (0..1)
+	 */
+	public double saturation(final Dependency dependency) {
+		final int limit = limits.get(dependency);
+		return (double) (limit - permits.get(dependency).availablePermits()) / limit;
+	}
+
+	public <T> T call(final Dependency dependency, final Callable<T> call) throws Exception {
+		final Semaphore semaphore = permits.get(dependency);
+		semaphore.acquire();
+		try {
+			return call.call();
+		} finally {
+			semaphore.release();
+		}
+	}
+
+	public void run(final Dependency dependency, final Call call) throws Exception {
+		call(dependency, () -> {
+			call.run();
+			return null;
+		});
+	}
+}
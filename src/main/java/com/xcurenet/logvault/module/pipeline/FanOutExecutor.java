@@ -0,0 +1,120 @@
+package com.xcurenet.logvault.module.pipeline;
+
+import com.xcurenet.common.utils.NamedThreadFactory;
+import com.xcurenet.common.utils.VirtualThreads;
+import com.xcurenet.logvault.conf.Config;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 메시지 내부 항목(첨부 등) 병렬 처리기
+ * - 메시지당 동시 처리 수(analysis.fanout.per.message)와 전체 동시 처리 수(analysis.fanout.global)를 함께 제한한다
+ * - 호출 쓰레드도 한 갈래(lane)를 직접 처리하므로 풀이 포화되어도 진행이 멈추지 않는다 (거절 시 호출 쓰레드가 나머지를 처리)
+ * - 항목별 예외는 다른 항목에 영향을 주지 않는다
+ * - 호출 쓰레드가 인터럽트(분석 시간 초과 취소 등)되면 새 항목은 시작하지 않고 진행 중인 항목만 끝낸 뒤 반환한다
+ * - pipeline.thread.mode=virtual (JDK 21+) 이면 갈래마다 가상 쓰레드를 사용한다
+ */
+@Log4j2
+@Component
+public class FanOutExecutor {
+
+	@FunctionalInterface
+	public interface Task<T> {
+		void accept(T item) throws Exception;
+	}
+
+	private final int perMessage;
+	private final Semaphore global;
+	private final ExecutorService executor;
+	private final AtomicInteger active = new AtomicInteger();
+
+	public FanOutExecutor(final Config conf, final MeterRegistry registry) {
+		this.perMessage = Math.max(1, conf.getAnalysisFanoutPerMessage());
+		final int globalLimit = Math.max(1, conf.getAnalysisFanoutGlobal());
+		this.global = new Semaphore(globalLimit);
+
+		final ExecutorService virtual = "virtual".equalsIgnoreCase(conf.getPipelineThreadMode()) ? VirtualThreads.newPerTaskExecutor("FANOUT") : null;
+		this.executor = virtual != null ? virtual : new ThreadPoolExecutor(globalLimit, globalLimit, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), new NamedThreadFactory("FANOUT"), new ThreadPoolExecutor.AbortPolicy());
+		Gauge.builder("app.analysis.fanout.active", active, AtomicInteger::get).description("Per-item fan-out tasks running").register(registry);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * items 를 병렬로 처리하고 모두 끝날 때까지 기다린다.
+	 *
+	 * @param name 로그 구분용 이름
+	 */
+	public <T> void forEach(final String name, final List<T> items, final Task<T> task) {
+		if (items == null || items.isEmpty()) return;
+		final int size = items.size();
+		final AtomicInteger next = new AtomicInteger();
+		final Thread owner = Thread.currentThread();
+		final AtomicBoolean cancelled = new AtomicBoolean();
+		final Runnable lane = () -> {
+			int i;
+			while (!cancelled.get() && !owner.isInterrupted() && (i = next.getAndIncrement()) < size) {
+				run(name, items.get(i), task);
+			}
+		};
+
+		final int lanes = Math.min(perMessage, size);
+		final CountDownLatch done = new CountDownLatch(lanes - 1);
+		final Map<String, String> mdc = MDC.getCopyOfContextMap(); // msgId 로그 유지
+		for (int l = 1; l < lanes; l++) {
+			try {
+				executor.execute(() -> {
+					if (mdc != null) MDC.setContextMap(mdc);
+					try {
+						lane.run();
+					} finally {
+						MDC.clear();
+						done.countDown();
+					}
+				});
+			} catch (final RejectedExecutionException e) {
+				done.countDown(); // 풀 포화: 남은 항목은 호출 쓰레드 갈래가 처리
+			}
+		}
+		lane.run();
+
+		boolean interrupted = owner.isInterrupted();
+		if (interrupted) cancelled.set(true);
+		while (true) {
+			try {
+				done.await();
+				break;
+			} catch (final InterruptedException e) {
+				interrupted = true;
+				cancelled.set(true);
+			}
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+	}
+
+	private <T> void run(final String name, final T item, final Task<T> task) {
+		global.acquireUninterruptibly();
+		active.incrementAndGet();
+		try {
+			task.accept(item);
+		} catch (final Exception e) {
+			log.warn("FAN_OUT | {} | {}", name, e.toString());
+		} finally {
+			active.decrementAndGet();
+			global.release();
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package com.xcurenet.logvault.module.pipeline;
+
+import com.xcurenet.common.utils.NamedThreadFactory;
+import com.xcurenet.logvault.conf.Config;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 늦게 도착하는 헤더/본문/첨부를 기다리는 메시지 보관소
+ * - 이미 파싱된 메시지를 "없는 파일 경로" 로 색인해 보관하고, 파일이 생기면 바로 파이프라인에 재투입한다
+ *   (스캐너 재적재 → INFO 재파싱 왕복 없음)
+ * - 파일 도착 확인: WatchService 생성/수정 이벤트({@link #onFile}) + parking.recheck.ms 주기 존재 확인(stat)
+ * - 대기 기한(file.wait.time.sec)이 지나면 파일이 없어도 재투입한다 (기존과 동일하게 없는 파일은 건너뛰고 처리)
+ * - parking.max 를 넘으면 보관하지 않는다 (호출자가 기존 재적재 보류 방식으로 처리)
+ *   (재투입이 결정됐지만 아직 파이프라인에 넘기지 못한 건도 보관 중으로 센다)
+ * - 재투입 콜백은 전용 쓰레드(PARKING)에서 실행한다: 콜백이 가득 찬 단계 큐에서 기다려도
+ *   WatchService 이벤트 쓰레드와 공용 스케줄러(@Scheduled 작업들)는 멈추지 않는다
+ */
+@Log4j2
+@Component
+public class ParkingLot {
+
+	private static final class Parked {
+		private final List<String> paths; // byPath 정리용 (최초 대기 경로)
+		private final Set<String> missing;
+		private final long deadline;
+		private final Consumer<Boolean> release;
+		private boolean released;
+
+		private Parked(final Set<String> missing, final long deadline, final Consumer<Boolean> release) {
+			this.paths = List.copyOf(missing);
+			this.missing = missing;
+			this.deadline = deadline;
+			this.release = release;
+		}
+	}
+
+	private final int max;
+	private final Set<Parked> parked = ConcurrentHashMap.newKeySet();
+	private final Map<String, Set<Parked>> byPath = new ConcurrentHashMap<>();
+	private final AtomicInteger releasing = new AtomicInteger(); // 재투입 대기 (콜백 실행 전)
+	private final ExecutorService releaser = Executors.newSingleThreadExecutor(new NamedThreadFactory("PARKING"));
+	private final Counter arrived;
+	private final Counter expired;
+
+	public ParkingLot(final Config conf, final MeterRegistry registry) {
+		this.max = Math.max(0, conf.getParkingMax());
+		Gauge.builder("app.parking.size", parked, Set::size).description("Messages parked waiting for late files").register(registry);
+		Gauge.builder("app.parking.releasing", releasing, AtomicInteger::get).description("Released parked messages waiting for hand-off").register(registry);
+		this.arrived = Counter.builder("app.parking.released").description("Parked messages released").tag("reason", "arrived").register(registry);
+		this.expired = Counter.builder("app.parking.released").description("Parked messages released").tag("reason", "expired").register(registry);
+	}
+
+	/**
+	 * @param paths    아직 없는 파일 경로
+	 * @param deadline 이 시각(ms)이 지나면 파일이 없어도 재투입
+	 * @param release  재투입 콜백 (true: 파일 도착/기한 만료, false: 종료로 인한 반환)
+	 * @return 보관했으면 true, 보관소가 가득 찼으면 false
+	 */
+	public boolean park(final Collection<String> paths, final long deadline, final Consumer<Boolean> release) {
+		if (parked.size() + releasing.get() >= max) return false;
+
+		final Set<String> missing = ConcurrentHashMap.newKeySet();
+		for (String path : paths) missing.add(key(path));
+		final Parked p = new Parked(missing, deadline, release);
+		parked.add(p);
+		for (String path : missing) byPath.computeIfAbsent(path, k -> ConcurrentHashMap.newKeySet()).add(p);
+
+		// 등록 도중 도착한 파일 보정
+		missing.removeIf(path -> new File(path).exists());
+		if (missing.isEmpty()) release(p, true);
+		return true;
+	}
+
+	/**
+	 * 파일 생성/수정 이벤트 (WatchService)
+	 */
+	public void onFile(final Path path) {
+		if (byPath.isEmpty()) return;
+		final String key = key(path.toString());
+		final Set<Parked> waiting = byPath.remove(key);
+		if (waiting == null) return;
+		for (Parked p : waiting) {
+			p.missing.remove(key);
+			if (p.missing.isEmpty()) release(p, true);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${parking.recheck.ms:1000}")
+	public void recheck() {
+		if (parked.isEmpty()) return;
+		final long now = System.currentTimeMillis();
+		for (Parked p : parked) {
+			p.missing.removeIf(path -> new File(path).exists());
+			if (p.missing.isEmpty()) {
+				release(p, true);
+			} else if (now >= p.deadline) {
+				log.info("PARKING | wait time over | {}", p.missing);
+				release(p, true);
+			}
+		}
+	}
+
+	/**
+	 * 종료 시 보관 중인 메시지를 모두 반환한다 (원본은 다음 실행에서 재처리)
+	 */
+	public void drain() {
+		for (Parked p : parked) release(p, false);
+	}
+
+	public int size() {
+		return parked.size() + releasing.get();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		releaser.shutdown();
+	}
+
+	private void release(final Parked p, final boolean ready) {
+		synchronized (p) {
+			if (p.released) return;
+			p.released = true;
+		}
+		parked.remove(p);
+		for (String path : p.paths) {
+			byPath.computeIfPresent(path, (k, set) -> {
+				set.remove(p);
+				return set.isEmpty() ? null : set;
+			});
+		}
+		if (ready) (p.missing.isEmpty() ? arrived : expired).increment();
+		releasing.incrementAndGet();
+		try {
+			releaser.execute(() -> accept(p, ready));
+		} catch (final RejectedExecutionException e) {
+			accept(p, ready); // 종료 이후: 호출 쓰레드에서 바로 반환
+		}
+	}
+
+	private void accept(final Parked p, final boolean ready) {
+		try {
+			p.release.accept(ready);
+		} catch (final Throwable e) {
+			log.warn("PARKING | {}", e.toString());
+		} finally {
+			releasing.decrementAndGet();
+		}
+	}
+
+	private static String key(final String path) {
+		return new File(path).getAbsolutePath();
+	}
+}
@@ -0,0 +1,26 @@
+package com.xcurenet.logvault.module.pipeline;
+
+import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.intake.IntakeService;
+import com.xcurenet.logvault.module.worker.AbstractWorker;
+
+/**
+ * 파이프라인을 흐르는 메시지 1건 (서비스 / 서비스별 처리기 / 스캔 데이터 / 현재 단계 재시도 횟수)
+ */
+public record PipelineJob(IntakeService service, AbstractWorker worker, ScanData data, int attempt) {
+
+	PipelineJob(final IntakeService service, final AbstractWorker worker, final ScanData data) {
+		this(service, worker, data, 0);
+	}
+
+	PipelineJob retry() {
+		return new PipelineJob(service, worker, data, attempt + 1);
+	}
+
+	/**
+	 * 다음 단계로 넘어갈 때 재시도 횟수는 단계별로 다시 센다
+	 */
+	PipelineJob next() {
+		return attempt == 0 ? this : new PipelineJob(service, worker, data, 0);
+	}
+}
@@ -0,0 +1,139 @@
+package com.xcurenet.logvault.module.pipeline;
+
+import com.xcurenet.common.utils.NamedThreadFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 파이프라인 단계 1개: 전용 쓰레드 + 입력 큐(용량 제한)
+ * - submit 은 큐가 가득 차면 블로킹 → 뒷단계가 밀리면 앞단계가 자연스럽게 늦춰진다 (백프레셔)
+ * - threads 가 0 이면 전용 쓰레드/큐 없이 호출 쓰레드에서 바로 실행한다 (PARSE: 인입 Worker 가 실행)
+ * - virtualFactory 가 있으면 큐/고정 쓰레드 없이 건마다 가상 쓰레드를 띄운다 (동시 처리 상한은 파이프라인과 DependencyLimiter 가 관리)
+ * - 단계별 지표: app.pipeline.stage.queue(대기 건수), .active(처리 중 쓰레드 수) — 처리 시간은 StagedPipeline 이 {@link com.xcurenet.logvault.module.statics.StageMetrics} 로 기록
+ */
+@Log4j2
+public class PipelineStage {
+	@Getter
+	private final String name;
+	@Getter
+	private final int threads;
+	private final BlockingQueue<PipelineJob> queue;
+	private final Consumer<PipelineJob> handler;
+	private final ThreadFactory virtualFactory;
+	private final AtomicInteger active = new AtomicInteger();
+	private final List<Thread> workers = new ArrayList<>();
+	private volatile boolean stopped;
+
+	PipelineStage(final String name, final int threads, final int capacity, final MeterRegistry registry, final Consumer<PipelineJob> handler) {
+		this(name, threads, capacity, registry, handler, null);
+	}
+
+	PipelineStage(final String name, final int threads, final int capacity, final MeterRegistry registry, final Consumer<PipelineJob> handler, final ThreadFactory virtualFactory) {
+		this.name = name;
+		this.virtualFactory = virtualFactory;
+		this.threads = virtualFactory != null ? 0 : Math.max(0, threads);
+		this.queue = this.threads > 0 ? new ArrayBlockingQueue<>(Math.max(1, capacity)) : null;
+		this.handler = handler;
+		Gauge.builder("app.pipeline.stage.active", active, AtomicInteger::get).description("Pipeline stage busy threads").tag("stage", name).register(registry);
+		if (queue != null) {
+			Gauge.builder("app.pipeline.stage.queue", queue, BlockingQueue::size).description("Pipeline stage queued items").tag("stage", name).register(registry);
+		}
+	}
+
+	void start() {
+		final NamedThreadFactory factory = new NamedThreadFactory(name.toUpperCase());
+		for (int i = 0; i < threads; i++) {
+			final Thread t = factory.newThread(this::loop);
+			workers.add(t);
+			t.start();
+		}
+	}
+
+	void stop() {
+		stopped = true;
+		for (Thread t : workers) t.interrupt();
+	}
+
+	void submit(final PipelineJob job) throws InterruptedException {
+		if (virtualFactory != null) {
+			virtualFactory.newThread(() -> execute(job)).start();
+			return;
+		}
+		if (queue == null) {
+			execute(job);
+			return;
+		}
+		queue.put(job);
+	}
+
+	/**
+	 * 대기 없이 넣기 (재처리 투입용)
+	 *
+	 * @return 큐가 가득 차 넣지 못했으면 false
+	 */
+	boolean offer(final PipelineJob job) {
+		if (queue == null) {
+			if (virtualFactory != null) virtualFactory.newThread(() -> execute(job)).start();
+			else execute(job);
+			return true;
+		}
+		return queue.offer(job);
+	}
+
+	public int getQueued() {
+		return queue != null ? queue.size() : 0;
+	}
+
+	/**
+	 * @return 입력 큐 점유율 (0..1, 큐가 없으면 0)
+	 */
+	public double getFill() {
+		if (queue == null) return 0d;
+		final int size = queue.size();
+		return (double) size / (size + queue.remainingCapacity());
+	}
+
+	public boolean isVirtual() {
+		return virtualFactory != null;
+	}
+
+	public int getActive() {
+		return active.get();
+	}
+
+	private void execute(final PipelineJob job) {
+		active.incrementAndGet();
+		try {
+			handler.accept(job);
+		} catch (final Throwable e) { // 단계 쓰레드는 어떤 오류에도 살아 있어야 한다 (건 종료 처리는 handler 가 담당)
+			log.error("PIPELINE | {} | {} | {}", name, job.data().getFilePath(), e.toString(), e);
+		} finally {
+			active.decrementAndGet();
+		}
+	}
+
+	private void loop() {
+		MDC.put("worker", Thread.currentThread().getName());
+		while (!stopped) {
+			final PipelineJob job;
+			try {
+				job = queue.poll(1, TimeUnit.SECONDS);
+			} catch (final InterruptedException e) {
+				continue;
+			}
+			if (job != null) execute(job);
+		}
+	}
+}
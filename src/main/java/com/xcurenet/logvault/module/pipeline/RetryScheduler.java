@@ -0,0 +1,123 @@
+package com.xcurenet.logvault.module.pipeline;
+
+import com.xcurenet.logvault.conf.Config;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 지연 재처리 스케줄러 (DelayQueue + 전용 쓰레드 1개)
+ * - 실패한 건을 처리 쓰레드에서 sleep 하지 않고 보관했다가 지연 시간 후 다시 투입한다
+ * - 지연 = min(retry.max.ms, retry.base.ms * 2^(시도-1)) 의 절반 + 나머지 절반 범위의 무작위 값 (동시 실패 건 분산)
+ * - retry.max.attempts 를 넘으면 예약하지 않는다 (호출자가 실패 처리)
+ * - 투입은 대기하지 않는다: 대상 단계 큐가 가득 차 있으면 BUSY_DELAY_MS 뒤 다시 시도 (시도 횟수는 늘지 않음)
+ *   → 한 단계가 밀려도 다른 단계의 재처리는 제때 투입된다
+ * - 지표: app.retry.pending(대기 건수), app.retry.scheduled / app.retry.exhausted
+ */
+@Log4j2
+@Component
+public class RetryScheduler {
+
+	private static final long BUSY_DELAY_MS = 200L;
+
+	private static final class Entry implements Delayed {
+		private final long dueNanos;
+		private final BooleanSupplier action;
+
+		private Entry(final long delayMs, final BooleanSupplier action) {
+			this.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+			this.action = action;
+		}
+
+		@Override
+		public long getDelay(final TimeUnit unit) {
+			return unit.convert(dueNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(final Delayed o) {
+			return Long.compare(dueNanos, ((Entry) o).dueNanos);
+		}
+	}
+
+	private final DelayQueue<Entry> queue = new DelayQueue<>();
+	private final long baseMs;
+	private final long maxMs;
+	private final int maxAttempts;
+	private final Counter scheduled;
+	private final Counter exhausted;
+	private final Thread dispatcher;
+	private volatile boolean stopped;
+
+	public RetryScheduler(final Config conf, final MeterRegistry registry) {
+		this.baseMs = Math.max(1L, conf.getRetryBaseMs());
+		this.maxMs = Math.max(baseMs, conf.getRetryMaxMs());
+		this.maxAttempts = Math.max(0, conf.getRetryMaxAttempts());
+		Gauge.builder("app.retry.pending", queue, DelayQueue::size).description("Messages waiting for a delayed retry").register(registry);
+		this.scheduled = Counter.builder("app.retry.scheduled").description("Delayed retries scheduled").register(registry);
+		this.exhausted = Counter.builder("app.retry.exhausted").description("Retries given up after max attempts").register(registry);
+
+		this.dispatcher = new Thread(this::loop, "RETRY");
+		this.dispatcher.setDaemon(true);
+		this.dispatcher.start();
+	}
+
+	/**
+	 * @param attempt 이번이 몇 번째 재시도인지 (1부터)
+	 * @param action  대기 없이 투입 시도, 받아들여지지 않았으면(큐 가득 참) false
+	 * @return 예약했으면 true, 재시도 횟수 초과면 false
+	 */
+	public boolean schedule(final int attempt, final BooleanSupplier action) {
+		if (stopped || attempt > maxAttempts) {
+			exhausted.increment();
+			return false;
+		}
+		final long delay = backoff(attempt);
+		queue.put(new Entry(delay, action));
+		scheduled.increment();
+		log.debug("RETRY | attempt {}/{} in {}ms", attempt, maxAttempts, delay);
+		return true;
+	}
+
+	public int getPending() {
+		return queue.size();
+	}
+
+	long backoff(final int attempt) {
+		final long cap = Math.min(maxMs, baseMs << Math.min(30, attempt - 1));
+		final long half = cap / 2;
+		return half + ThreadLocalRandom.current().nextLong(cap - half + 1);
+	}
+
+	@PreDestroy
+	public void stop() {
+		stopped = true;
+		dispatcher.interrupt();
+		if (!queue.isEmpty()) log.warn("RETRY | {} pending retries dropped on shutdown (originals kept for next run)", queue.size());
+	}
+
+	private void loop() {
+		while (!stopped) {
+			final Entry entry;
+			try {
+				entry = queue.take();
+			} catch (final InterruptedException e) {
+				continue;
+			}
+			try {
+				if (!entry.action.getAsBoolean()) queue.put(new Entry(BUSY_DELAY_MS, entry.action));
+			} catch (final Throwable e) {
+				log.warn("RETRY | {}", e.toString());
+			}
+		}
+	}
+}
@@ -0,0 +1,257 @@
+package com.xcurenet.logvault.module.pipeline;
+
+import com.xcurenet.common.utils.VirtualThreads;
+import com.xcurenet.logvault.conf.Config;
+import com.xcurenet.logvault.exception.SkipFileException;
+import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.intake.IntakeService;
+import com.xcurenet.logvault.module.intake.IntakeServiceRegistry;
+import com.xcurenet.logvault.module.statics.StageMetrics;
+import com.xcurenet.logvault.module.worker.AbstractWorker;
+import com.xcurenet.logvault.module.worker.AbstractWorker.Step;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.slf4j.MDC;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 단계별(SEDA) 메시지 처리 파이프라인
+ * <pre>
+ * [인입 Worker: PARSE] -> (queue) -> [ANALYSE] -> (queue) -> [STORE] -> (queue) -> [INDEX]
+ *          └ 첨부 미도착 → {@link ParkingLot} → 도착 시 [UNPARK] ┘
+ * </pre>
+ * - PARSE   : INFO 파싱/인사/필터 (CPU) — 인입 Worker 쓰레드(worker.size.total)에서 실행
+ * - ANALYSE : 첨부 텍스트 추출/개인정보 등 원격 분석 (I/O) — pipeline.analyse.threads
+ * - STORE   : 본문/첨부 전송 (I/O) — pipeline.store.threads
+ * - INDEX   : 색인/알림/후처리/원본 정리 (I/O) — pipeline.index.threads
+ * <p>
+ * 단계 사이 큐는 pipeline.stage.queue.capacity 로 제한되어, 느린 원격 호출이 CPU 단계를 멈추지 않고
+ * 뒷단계가 밀릴 때만 앞단계가 기다린다. 메시지는 어느 단계에서 끝나든 {@link #finish} 를 한 번 거친다.
+ * <p>
+ * pipeline.thread.mode=virtual (JDK 21+) 이면 ANALYSE/STORE/INDEX 를 건별 가상 쓰레드로 실행한다.
+ * 단계 쓰레드 수 대신 pipeline.virtual.max.inflight 가 동시 처리 건수를, {@link DependencyLimiter} 가 원격 시스템별 동시 호출 수를 제한한다.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class StagedPipeline {
+
+	@FunctionalInterface
+	private interface StepFunction {
+		Step apply(AbstractWorker worker, ScanData data) throws Exception;
+	}
+
+	private final ApplicationContext context;
+	private final Config conf;
+	private final IntakeServiceRegistry intakeServices;
+	private final MeterRegistry registry;
+	private final RetryScheduler retryScheduler;
+	private final ParkingLot parkingLot;
+	private final StageMetrics stageMetrics;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private AbstractWorker[] workers;
+	private PipelineStage parse;
+	private PipelineStage unpark;
+	private PipelineStage analyse;
+	private PipelineStage store;
+	private PipelineStage index;
+	private Semaphore virtualPermits; // virtual 모드 동시 처리 상한 (platform 모드는 단계 큐/쓰레드가 상한)
+
+	public synchronized void start() throws ReflectiveOperationException {
+		if (workers != null) return;
+
+		final List<IntakeService> services = intakeServices.getServices();
+		final AbstractWorker[] created = new AbstractWorker[services.size()];
+		for (IntakeService service : services) {
+			created[service.getIndex()] = service.newWorker(context);
+		}
+
+		final boolean virtual = "virtual".equalsIgnoreCase(conf.getPipelineThreadMode());
+		if (virtual && !VirtualThreads.isSupported()) {
+			log.warn("START_PIPELINE | pipeline.thread.mode=virtual requires JDK 21+, running on {} → platform threads", Runtime.version());
+		}
+		final boolean useVirtual = virtual && VirtualThreads.isSupported();
+		if (useVirtual) virtualPermits = new Semaphore(Math.max(1, conf.getPipelineVirtualMaxInflight()));
+
+		final int capacity = conf.getPipelineStageQueueCapacity();
+		parse = new PipelineStage("parse", 0, 0, registry, job -> run(parse, job, AbstractWorker::prepare));
+		unpark = new PipelineStage("unpark", 1, Math.max(capacity, conf.getParkingMax()), registry, job -> run(unpark, job, AbstractWorker::unpark), virtualFactory(useVirtual, "UNPARK"));
+		analyse = new PipelineStage("analyse", conf.getPipelineAnalyseThreads(), capacity, registry, job -> run(analyse, job, AbstractWorker::analyse), virtualFactory(useVirtual, "ANALYSE"));
+		store = new PipelineStage("store", conf.getPipelineStoreThreads(), capacity, registry, job -> run(store, job, AbstractWorker::store), virtualFactory(useVirtual, "STORE"));
+		index = new PipelineStage("index", conf.getPipelineIndexThreads(), capacity, registry, job -> run(index, job, AbstractWorker::indexing), virtualFactory(useVirtual, "INDEX"));
+		Gauge.builder("app.pipeline.inflight", inFlight, AtomicInteger::get).description("Messages inside the pipeline").register(registry);
+
+		workers = created;
+		for (PipelineStage stage : List.of(unpark, analyse, store, index)) stage.start();
+		if (useVirtual) {
+			log.info("START_PIPELINE | virtual | parse={} | max.inflight={}", intakeServices.getTotalWorkers(), conf.getPipelineVirtualMaxInflight());
+		} else {
+			log.info("START_PIPELINE | platform | parse={} | analyse={} | store={} | index={} | queue={}", intakeServices.getTotalWorkers(), analyse.getThreads(), store.getThreads(), index.getThreads(), capacity);
+		}
+	}
+
+	private static ThreadFactory virtualFactory(final boolean useVirtual, final String name) {
+		return useVirtual ? VirtualThreads.factory(name) : null;
+	}
+
+	/**
+	 * 인입 Worker 가 스케줄러에서 꺼낸 건을 넣는다. PARSE 단계는 호출 쓰레드에서 실행되고,
+	 * ANALYSE 큐가 가득 차 있으면 자리가 날 때까지 호출 쓰레드가 기다린다.
+	 */
+	public void accept(final IntakeService service, final ScanData data) {
+		if (virtualPermits != null) virtualPermits.acquireUninterruptibly();
+		inFlight.incrementAndGet();
+		data.setService(service.getName());
+		handOff(parse, new PipelineJob(service, workers[service.getIndex()], data));
+	}
+
+	/**
+	 * @return 파이프라인 안에서 처리 중인 건수 (종료 시 0 이 될 때까지 대기)
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * @return 뒷단 압력 (0..1): platform 모드는 ANALYSE/STORE/INDEX 큐 점유율 최대값, virtual 모드는 동시 처리 상한 사용률
+	 */
+	public double getPressure() {
+		if (workers == null) return 0d;
+		if (virtualPermits != null) return 1d - (double) virtualPermits.availablePermits() / Math.max(1, conf.getPipelineVirtualMaxInflight());
+		double pressure = 0d;
+		for (PipelineStage stage : List.of(analyse, store, index)) pressure = Math.max(pressure, stage.getFill());
+		return pressure;
+	}
+
+	/**
+	 * @return 뒷단 한 단계가 받아 둘 수 있는 건수: platform 모드는 단계 큐 용량, virtual 모드는 동시 처리 상한
+	 */
+	public int getCapacity() {
+		return Math.max(1, virtualPermits != null ? conf.getPipelineVirtualMaxInflight() : conf.getPipelineStageQueueCapacity());
+	}
+
+	/**
+	 * 파일 생성/수정 이벤트 (WatchService) → 늦은 첨부 대기 메시지 재개
+	 */
+	public void onFile(final Path path) {
+		parkingLot.onFile(path);
+	}
+
+	/**
+	 * 종료 시 늦은 첨부를 기다리는 메시지를 반환한다 (처리 중 건수에서 빠지도록)
+	 */
+	public void releaseParked() {
+		parkingLot.drain();
+	}
+
+	/**
+	 * 단계 쓰레드 종료: 처리 중 건수가 0 이 된 뒤 애플리케이션 종료 흐름(LogVaultApplication.run)에서만 호출한다
+	 * (컨텍스트 종료 콜백으로 먼저 멈추면 단계 큐에 남은 건이 끝나지 않아 종료 대기가 풀리지 않는다)
+	 */
+	public synchronized void stop() {
+		if (workers == null) return;
+		if (inFlight.get() > 0) log.warn("STOP_PIPELINE | {} messages still in flight", inFlight.get());
+		for (PipelineStage stage : List.of(unpark, analyse, store, index)) stage.stop();
+	}
+
+	private void run(final PipelineStage stage, final PipelineJob job, final StepFunction step) {
+		final ScanData data = job.data();
+		if (data.getMsgData() != null) MDC.put("msgId", data.getMsgData().getMsgid());
+
+		Step next;
+		boolean deferred = false;
+		String outcome = StageMetrics.SUCCESS;
+		final long start = System.nanoTime();
+		try {
+			next = step.apply(job.worker(), data);
+		} catch (final Throwable e) { // Error(OOM, NoClassDefFoundError 등)도 finish 를 거쳐야 처리 중 건수가 줄어든다
+			if (e instanceof Error) log.error("PIPELINE | {} | {}", stage.getName(), data.getFilePath(), e);
+			if (job.worker().isRetryable(e) && retry(stage, job, e)) {  // 지연 재처리 예약 → 처리 쓰레드는 바로 다음 건 처리
+				outcome = StageMetrics.RETRY;
+				return;
+			}
+			if (e instanceof SkipFileException skip && park(job, skip)) { // 늦은 첨부 대기 → 파일 도착 시 UNPARK 단계로 재개
+				outcome = StageMetrics.PARKED;
+				return;
+			}
+			outcome = StageMetrics.ERROR;
+			deferred = job.worker().fail(data, e);
+			next = Step.DONE;
+		} finally {
+			stageMetrics.record(StageMetrics.PIPELINE_STAGE, stage.getName(), data.getService(), outcome, System.nanoTime() - start);
+			MDC.remove("msgId");
+		}
+
+		switch (next) {
+			case ANALYSE -> handOff(analyse, job.next());
+			case STORE -> handOff(store, job.next());
+			case INDEX -> handOff(index, job.next());
+			case DONE -> finish(job, deferred);
+		}
+	}
+
+	private boolean retry(final PipelineStage stage, final PipelineJob job, final Throwable e) {
+		final PipelineJob again = job.retry();
+		if (!retryScheduler.schedule(again.attempt(), () -> offer(stage, again))) return false;
+		log.info("RETRY | {} | {} | attempt {} | {}", stage.getName(), job.data().getMsgData().getMsgid(), again.attempt(), e.getMessage());
+		return true;
+	}
+
+	private boolean park(final PipelineJob job, final SkipFileException e) {
+		final long deadline = job.data().getLastModified() + conf.getInterval();
+		final boolean parked = parkingLot.park(e.getPaths(), deadline, ready -> {
+			if (ready) handOff(unpark, job.next());
+			else finish(job, false);
+		});
+		if (parked) log.info("PARKING | {} | waiting {}", job.data().getMsgData().getMsgid(), e.getPaths());
+		return parked;
+	}
+
+	private void handOff(final PipelineStage stage, final PipelineJob job) {
+		try {
+			stage.submit(job);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			log.warn("PIPELINE | {} | hand-off interrupted | {}", stage.getName(), job.data().getFilePath());
+			finish(job, false);
+		} catch (final RuntimeException | Error e) { // 가상 쓰레드 생성 실패 등: 건을 잃지 않도록 종료 처리
+			log.error("PIPELINE | {} | hand-off failed | {}", stage.getName(), job.data().getFilePath(), e);
+			finish(job, false);
+		}
+	}
+
+	/**
+	 * 재처리 투입 (RETRY 쓰레드는 기다리지 않는다)
+	 *
+	 * @return 단계 큐가 가득 차 다시 시도해야 하면 false
+	 */
+	private boolean offer(final PipelineStage stage, final PipelineJob job) {
+		try {
+			return stage.offer(job);
+		} catch (final RuntimeException | Error e) {
+			log.error("PIPELINE | {} | retry hand-off failed | {}", stage.getName(), job.data().getFilePath(), e);
+			finish(job, false);
+			return true;
+		}
+	}
+
+	private void finish(final PipelineJob job, final boolean deferred) {
+		try {
+			job.worker().finish(job.data(), deferred);
+		} finally {
+			intakeServices.getScheduler().complete(job.service());
+			inFlight.decrementAndGet();
+			if (virtualPermits != null) virtualPermits.release();
+		}
+	}
+}
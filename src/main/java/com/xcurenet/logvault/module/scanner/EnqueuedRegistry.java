@@ -0,0 +1,123 @@
+package com.xcurenet.logvault.module.scanner;
+
+import com.xcurenet.logvault.conf.Config;
+import com.xcurenet.logvault.module.ScanData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스캐너 중복 적재 방지 레지스트리 (기존 Scanner.ENQUEUED 대체)
+ * - 스캐너가 acquire 로 점유, 워커가 처리 종료 시(ClearService.clear / AbstractWorker finally) release 로 해제
+ * - 파일 존재 확인(stat) / canonical 경로 변환(realpath) 없이 절대경로 문자열만 키로 사용
+ * - 해제 누락 대비: 주기적으로 세대(generation)를 올리고, 일정 세대 이상 묵은 항목만 만료 (시스템콜 없음)
+ * - 늦게 도착하는 첨부 대기(SkipFileException)는 defer 로 일정 시간 재적재를 보류
+ */
+@Log4j2
+@Component
+public class EnqueuedRegistry {
+
+	private record Entry(long generation, long notBefore) {
+		boolean isReleasable(final long now) {
+			return notBefore > 0 && now >= notBefore;
+		}
+	}
+
+	private final Config conf;
+	private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+
+	private final Counter acquired;
+	private final Counter duplicated;
+	private final Counter released;
+	private final Counter deferred;
+	private final Counter expired;
+
+	public EnqueuedRegistry(final Config conf, final MeterRegistry registry) {
+		this.conf = conf;
+		Gauge.builder("app.intake.enqueued.size", entries, ConcurrentHashMap::size).description("Number of files enqueued or in progress").register(registry);
+		Gauge.builder("app.intake.enqueued.generation", generation, AtomicLong::get).description("Current dedup registry generation").register(registry);
+		this.acquired = Counter.builder("app.intake.enqueued.churn").description("Dedup registry churn").tag("type", "acquired").register(registry);
+		this.duplicated = Counter.builder("app.intake.enqueued.churn").description("Dedup registry churn").tag("type", "duplicated").register(registry);
+		this.released = Counter.builder("app.intake.enqueued.churn").description("Dedup registry churn").tag("type", "released").register(registry);
+		this.deferred = Counter.builder("app.intake.enqueued.churn").description("Dedup registry churn").tag("type", "deferred").register(registry);
+		this.expired = Counter.builder("app.intake.enqueued.churn").description("Dedup registry churn").tag("type", "expired").register(registry);
+	}
+
+	public static String key(final File file) {
+		return file.getAbsolutePath();
+	}
+
+	public static String key(final String path) {
+		return key(new File(path));
+	}
+
+	/**
+	 * @return 새로 점유했으면 true, 이미 적재/처리 중(또는 보류 중)이면 false
+	 */
+	public boolean acquire(final File file) {
+		final long now = System.currentTimeMillis();
+		final long gen = generation.get();
+		final boolean[] won = {false};
+		entries.compute(key(file), (k, e) -> {
+			if (e == null || e.isReleasable(now)) {
+				won[0] = true;
+				return new Entry(gen, 0L);
+			}
+			return e;
+		});
+		if (won[0]) acquired.increment();
+		else duplicated.increment();
+		return won[0];
+	}
+
+	public void release(final String path) {
+		if (path == null) return;
+		if (entries.remove(key(path)) != null) released.increment();
+	}
+
+	public void release(final ScanData data) {
+		if (data != null) release(data.getFilePath());
+	}
+
+	/**
+	 * 해제하되 delayMs 동안 재적재를 보류한다 (파일 도착 대기 중인 메시지의 즉시 재처리 루프 방지)
+	 */
+	public void defer(final ScanData data, final long delayMs) {
+		if (data == null || data.getFilePath() == null) return;
+		entries.put(key(data.getFilePath()), new Entry(generation.get(), System.currentTimeMillis() + Math.max(1L, delayMs)));
+		deferred.increment();
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * 세대를 올리고 scan.dedup.expire.generations 이상 지난 항목을 만료한다.
+	 * 정상 경로에서는 워커가 release 하므로 여기서 지워지는 것은 해제 누락분뿐이다.
+	 */
+	@Scheduled(fixedDelayString = "${scan.dedup.generation.interval-ms:3600000}", initialDelayString = "${scan.dedup.generation.interval-ms:3600000}")
+	public void advanceGeneration() {
+		final long gen = generation.incrementAndGet();
+		final long oldest = gen - Math.max(1, conf.getScanDedupExpireGenerations());
+		final int[] count = {0};
+		entries.values().removeIf(e -> {
+			if (e.generation() >= oldest) return false;
+			count[0]++;
+			return true;
+		});
+		final int removed = count[0];
+		if (removed > 0) {
+			expired.increment(removed);
+			log.info("DEDUP | generation={} | expired={} | size={}", gen, removed, entries.size());
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.xcurenet.logvault.module.scanner;
+
+/**
+ * 서비스별 인입 디렉터리 감시 방식
+ * - POLL   : {@link Scanner} 주기 전체 순회 (적응형 백오프)
+ * - WATCH  : {@link WatchServiceScanner} 이벤트 + 자체 얕은 리컨실
+ * - HYBRID : {@link WatchServiceScanner} 이벤트를 주 경로로, {@link Scanner} 저빈도 리컨실을 안전망으로 사용
+ */
+public enum ScanMode {
+	POLL, WATCH, HYBRID;
+
+	public static ScanMode of(final String value) {
+		if (value == null || value.isBlank()) return HYBRID;
+		try {
+			return valueOf(value.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			return HYBRID;
+		}
+	}
+}
@@ -1,20 +1,25 @@
 package com.xcurenet.logvault.module.scanner;
 
+import com.xcurenet.common.file.AttributeDirectoryWalker;
 import com.xcurenet.common.utils.Common;
+import com.xcurenet.common.utils.NamedThreadFactory;
 import com.xcurenet.logvault.LogVaultApplication;
 import com.xcurenet.logvault.module.ScanData;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.io.DirectoryWalker;
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
-import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -29,11 +34,15 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 구현 포인트
  * 1) run 플래그와 인터럽트를 모두 존중한 안전한 중단
  * 2) 큐가 가득 찼을 때 offer(timeout) 기반 백프레셔
- * 3) 적응형 백오프: 새 파일 있으면 즉시 재스캔, 없으면 짧게 쉬고 점증
- * 4) 최소 변경으로 중복 회피: ENQUEUED(ConcurrentHashMap) 기반 중복 적재 방지 + 자동 스윕
+ * 3) 적응형 백오프: 새 파일 있으면 즉시 재스캔, 없으면 짧게 쉬고 점증 (샤드 단위)
+ * 4) 중복 회피: {@link EnqueuedRegistry} 점유/해제 (워커가 처리 종료 시 명시적으로 해제, 파일 존재 확인 없음)
+ * 5) 리컨실 모드: WatchServiceScanner 와 함께 동작할 때 고정 주기로만 순회하는 안전망(HYBRID)
+ * 6) 샤드 병렬 순회: 시작 디렉터리 바로 아래 하위 디렉터리(디코더 분산 버킷)마다 하나의 샤드를 두고
+ * scan.shard.threads 크기의 풀에서 독립적으로 순회한다. 시작 디렉터리 바로 아래 파일은 루트 샤드가 담당하며
+ * 루트 샤드가 새 하위 디렉터리를 발견하면 샤드로 등록한다.
  */
 @Log4j2
-public final class Scanner extends DirectoryWalker<File> implements Runnable {
+public final class Scanner implements Runnable {
 
 	// ==== 설정 상수 ====
 	/**
@@ -41,7 +50,7 @@ public final class Scanner extends DirectoryWalker<File> implements Runnable {
 	 */
 	private static final Duration DEFAULT_DELETE_TMP_DELAY = Duration.ofDays(1);
 	/**
-	 * 큐 적재 재시도 대기(밀리초)
+	 * 큐 적재 대기 단위(밀리초). 큐가 가득 차면 offer(timeout) 안에서 블로킹하고, 단위마다 중단 여부를 확인한다.
 	 */
 	private static final long QUEUE_OFFER_WAIT_MS = 500L;
 	/**
@@ -49,131 +58,236 @@ public final class Scanner extends DirectoryWalker<File> implements Runnable {
 	 */
 	private static final long CANCEL_CHECK_SLEEP_MS = 250L;
 	/**
-	 * DirectoryWalker 의 최대 탐색 깊이(기존: 2)
+	 * 시작 디렉터리 기준 최대 탐색 깊이(기존: 2). 샤드는 시작 디렉터리보다 한 단계 아래에서 출발한다.
 	 */
 	private static final int MAX_DEPTH = 2;
-
-	// ==== 중복 방지 레지스트리 ====
 	/**
-	 * 현재 ENQUEUE/처리 중인 파일의 절대경로 키 보관
-	 * 값(Long)은 마지막 확인 시각(스윕용, stale 청소에 사용)
+	 * 못 찾으면 샤드 백오프를 200ms씩 증가
+	 */
+	private static final long STEP_BACKOFF_MS = 200L;
+	/**
+	 * 종료 확인 주기(밀리초)
 	 */
-	private static final ConcurrentHashMap<String, Long> ENQUEUED = new ConcurrentHashMap<>();
+	private static final long RUN_CHECK_INTERVAL_MS = 1000L;
 
 	// ==== 주입 필드 ====
-	private final File startDirectory;
-	private final PriorityBlockingQueue<ScanData> scanQueue;
+	private final Path startDirectory;
+	private final BlockingQueue<ScanData> scanQueue;
+	private final EnqueuedRegistry registry;
 	private final AtomicBoolean run;
 	private final AtomicInteger scannerCount;
 	private final int maxBackoffSec;               // 기존 scanningWaitingSec → '최대 백오프' 로 의미 재해석
 	private final Duration deleteTmpDelay;
+	private final long reconcileIntervalMs;        // > 0 이면 리컨실 모드(고정 주기 순회)
+	private final int shardThreads;
 
-	// ==== 적응형 백오프 상태 ====
-	private volatile int enqueuedThisRound = 0;     // 이번 라운드에서 enqueue된 수
-	private long currentBackoffMs = 0L;             // 현재 백오프(ms)
+	// ==== 샤드 상태 ====
+	private final ConcurrentHashMap<String, Shard> shards = new ConcurrentHashMap<>();
+	private ScheduledThreadPoolExecutor shardPool;
 
 	// ==== 생성자 ====
-	public Scanner(final String dir, final PriorityBlockingQueue<ScanData> scanQueue, final AtomicBoolean run, final int scanningWaitingSec) {
-		this(dir, scanQueue, run, scanningWaitingSec, DEFAULT_DELETE_TMP_DELAY);
+	public Scanner(final String dir, final BlockingQueue<ScanData> scanQueue, final EnqueuedRegistry registry, final AtomicBoolean run, final int scanningWaitingSec, final int shardThreads) {
+		this(dir, scanQueue, registry, run, scanningWaitingSec, DEFAULT_DELETE_TMP_DELAY, shardThreads, 0L);
 	}
 
-	public Scanner(final String dir, final PriorityBlockingQueue<ScanData> scanQueue, final AtomicBoolean run, final int scanningWaitingSec, final Duration deleteTmpDelay) {
-		super(null, MAX_DEPTH);
-		this.startDirectory = new File(Objects.requireNonNull(dir, "dir must not be null"));
+	private Scanner(final String dir, final BlockingQueue<ScanData> scanQueue, final EnqueuedRegistry registry, final AtomicBoolean run, final int scanningWaitingSec, final Duration deleteTmpDelay, final int shardThreads, final long reconcileIntervalMs) {
+		this.startDirectory = Paths.get(Objects.requireNonNull(dir, "dir must not be null"));
 		this.scanQueue = Objects.requireNonNull(scanQueue, "scanQueue must not be null");
+		this.registry = Objects.requireNonNull(registry, "registry must not be null");
 		this.run = Objects.requireNonNull(run, "run must not be null");
 		this.scannerCount = new AtomicInteger();
 		this.maxBackoffSec = Math.max(0, scanningWaitingSec);
 		this.deleteTmpDelay = Objects.requireNonNullElse(deleteTmpDelay, DEFAULT_DELETE_TMP_DELAY);
-		this.currentBackoffMs = 0L;
+		this.shardThreads = Math.max(1, shardThreads);
+		this.reconcileIntervalMs = Math.max(0L, reconcileIntervalMs);
+	}
+
+	/**
+	 * HYBRID 모드용 리컨실 스캐너.
+	 * 이벤트 누락(OVERFLOW, 마운트 지연 등)을 보정하기 위해 샤드마다 intervalSec 에 한 번씩만 순회한다.
+	 * 첫 순회도 intervalSec 이후에 수행한다(초기 적재는 WatchServiceScanner 의 seed 가 담당).
+	 */
+	public static Scanner reconciler(final String dir, final BlockingQueue<ScanData> scanQueue, final EnqueuedRegistry registry, final AtomicBoolean run, final int intervalSec, final int shardThreads) {
+		return new Scanner(dir, scanQueue, registry, run, 0, DEFAULT_DELETE_TMP_DELAY, shardThreads, Math.max(1, intervalSec) * 1000L);
 	}
 
 	// ==== 실행 루프 ====
 	@Override
 	public void run() {
-		final String threadName = startDirectory.getName() + "_scan";
+		final String threadName = String.valueOf(startDirectory.getFileName()) + (isReconciler() ? "_reconcile" : "_scan");
 		Thread.currentThread().setName(threadName);
 
 		ensureStartDirectory();
 
-		final long STEP_BACKOFF_MS = 200L;                   // 못 찾으면 200ms씩 증가
-		final long MAX_BACKOFF_MS = maxBackoffSec * 1000L;   // 상한 (설정값)
+		shardPool = new ScheduledThreadPoolExecutor(shardThreads, new NamedThreadFactory(threadName));
+		shardPool.setRemoveOnCancelPolicy(true);
+		try {
+			// 루트 샤드가 하위 디렉터리를 발견하여 샤드로 등록한다
+			schedule(new Shard(startDirectory, true), isReconciler() ? reconcileIntervalMs : 0L);
+			log.info("SCANNER | start: dir={} | shardThreads={} | mode={}", startDirectory, shardThreads, isReconciler() ? "reconcile" : "poll");
+
+			while (isRunning()) {
+				sleepRespectingCancel(RUN_CHECK_INTERVAL_MS);
+			}
+		} finally {
+			shardPool.shutdownNow();
+			Common.executorAwaitTermination(shardPool, 10);
+			shards.clear();
+		}
+		log.info("SCANNER | Scanner stopped: dir={}", startDirectory);
+	}
+
+	private boolean isReconciler() {
+		return reconcileIntervalMs > 0;
+	}
 
-		while (isRunning()) {
-			// === 추가: 워커가 파일을 이동/삭제하면 ENQUEUED에서 자동 제거 ===
-			sweepEnqueued();
+	private void schedule(final Shard shard, final long delayMs) {
+		if (!run.get()) return;
+		try {
+			shardPool.schedule(shard, delayMs, TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException ignored) {
+			// 종료 중
+		}
+	}
 
-			enqueuedThisRound = 0;
+	/**
+	 * 루트 샤드가 발견한 하위 디렉터리를 샤드로 등록한다. 이미 등록된 경우 무시.
+	 */
+	private void registerShard(final Path directory) {
+		final String key = directory.toString();
+		if (shards.containsKey(key)) return;
+		final Shard shard = new Shard(directory, false);
+		if (shards.putIfAbsent(key, shard) == null) {
+			log.debug("SHARD | registered: {}", key);
+			schedule(shard, isReconciler() ? reconcileIntervalMs : 0L);
+		}
+	}
+
+	/**
+	 * 독립적인 순회 단위. 한 샤드는 동시에 하나의 스레드에서만 실행되며(자기 자신을 재예약),
+	 * 새 파일을 찾으면 즉시, 못 찾으면 점증 백오프 후 다시 순회한다.
+	 * - 루트 샤드: 시작 디렉터리 바로 아래 파일만 처리, 하위 디렉터리는 샤드로 등록
+	 * - 하위 샤드: 하위 디렉터리 기준 (MAX_DEPTH - 1) 깊이까지 처리
+	 * 항목마다 속성을 한 번만 읽고({@link AttributeDirectoryWalker}) 그 속성으로 판정/ScanData 생성까지 처리한다.
+	 */
+	private final class Shard extends AttributeDirectoryWalker implements Runnable {
+		private final Path directory;
+		private final boolean root;
+		private int found;
+		private long backoffMs;
+
+		private Shard(final Path directory, final boolean root) {
+			super(root ? 1 : MAX_DEPTH - 1);
+			this.directory = directory;
+			this.root = root;
+		}
+
+		@Override
+		public void run() {
+			if (!isRunning()) return;
+
+			found = 0;
 			try {
-				walk(startDirectory, null);
+				walk(directory);
 			} catch (IOException e) {
-				log.error("SCANNER | Error while scanning directory: {}", startDirectory, e);
+				if (!root) {
+					shards.remove(directory.toString());
+					log.debug("SHARD | removed ({}): {}", e.getMessage(), directory);
+					return;
+				}
+				log.error("SCANNER | Error while scanning directory: {}", directory, e);
+			} catch (Exception e) {
+				log.error("SCANNER | Unexpected error while scanning directory: {}", directory, e);
 			}
+			if (!run.get()) return;
 
-			if (!isRunning()) break;
+			schedule(this, nextDelay());
+		}
 
-			if (enqueuedThisRound > 0) {
+		private long nextDelay() {
+			if (isReconciler()) {
+				if (found > 0) log.info("RECONCILE | {} missed files recovered | dir={}", found, directory);
+				return reconcileIntervalMs;
+			}
+			if (found > 0) {
 				// 새 작업을 넣었다 → 즉시 다음 라운드 (대기 없음)
-				if (currentBackoffMs != 0) {
-					log.debug("SCANNER | found={} -> reset backoff (was {} ms)", enqueuedThisRound, currentBackoffMs);
-				}
-				currentBackoffMs = 0;
-				continue;
+				if (backoffMs != 0) log.debug("SCANNER | {} | found={} -> reset backoff (was {} ms)", directory, found, backoffMs);
+				backoffMs = 0;
+				return 0L;
 			}
-
 			// 새 파일이 없었음 → 백오프 점증
-			currentBackoffMs = Math.min(currentBackoffMs == 0 ? STEP_BACKOFF_MS : currentBackoffMs + STEP_BACKOFF_MS, MAX_BACKOFF_MS);
-			if (currentBackoffMs > 0) {
-				log.debug("IDLE | no new files. backoff={} ms | queueSize={} | scannerCount={}", currentBackoffMs, scanQueue.size(), scannerCount.get());
-				sleepRespectingCancel(currentBackoffMs);
+			backoffMs = Math.min(backoffMs == 0 ? STEP_BACKOFF_MS : backoffMs + STEP_BACKOFF_MS, maxBackoffSec * 1000L);
+			if (root && backoffMs > 0) {
+				log.debug("IDLE | no new files. backoff={} ms | queueSize={} | scannerCount={} | shards={}", backoffMs, scanQueue.size(), scannerCount.get(), shards.size());
 			}
+			return backoffMs;
+		}
+
+		// ==== AttributeDirectoryWalker 콜백 ====
+		@Override
+		protected void handleFile(final Path file, final BasicFileAttributes attrs, final int depth) {
+			if (onFile(file, attrs)) found++;
+		}
+
+		@Override
+		protected boolean handleDirectory(final Path dir, final BasicFileAttributes attrs, final int depth) {
+			if (!isRunning()) return false;
+			if (root && depth > 0) {
+				registerShard(dir);
+				return false; // 하위 디렉터리는 자기 샤드가 순회
+			}
+			return true;
+		}
+
+		@Override
+		protected void handleDirectoryEnd(final Path dir, final BasicFileAttributes attrs, final int depth, final int children) {
+			if (children == 0) recreateStaleEmptyDirectory(dir, attrs);
+		}
+
+		@Override
+		protected void handleDirectoryFailed(final Path dir, final IOException e) {
+			log.debug("SCANNER | Unable to list directory: {} ({})", dir, e.toString()); // 접근 불가/권한 문제 등
+		}
+
+		@Override
+		protected boolean isCancelled() {
+			return !isRunning();
 		}
-		log.info("SCANNER | Scanner stopped: dir={}", startDirectory);
 	}
 
-	// ==== DirectoryWalker 콜백 ====
-	@Override
-	protected void handleFile(final File file, final int depth, final Collection<File> results) {
-		if (!isRunning()) return;
+	/**
+	 * 파일 한 건 처리 (순회 중 읽은 속성만 사용)
+	 *
+	 * @return 큐에 새로 적재되었으면 true
+	 */
+	private boolean onFile(final Path file, final BasicFileAttributes attrs) {
+		if (!isRunning()) return false;
 
-		if (isProcessable(file)) {
+		if (isProcessable(file, attrs)) {
 			try {
-				addQueue(new ScanData(file, scannerCount)); // 성공 시 내부에서 enqueuedThisRound++
+				return addQueue(new ScanData(file, attrs, scannerCount));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt(); // 종료 중
 			} catch (Exception e) {
-				log.error("SCANNER | File parsing error. Set no-permission to avoid reprocessing: {}", file.getAbsolutePath(), e);
+				log.error("SCANNER | File parsing error. Set no-permission to avoid reprocessing: {}", file, e);
 				// 파싱 실패 → 재처리 방지
-				Common.removeAllPermissions(file);
+				Common.removeAllPermissions(file.toFile());
 			}
-			return;
+			return false;
 		}
 
 		// 처리 불가 파일 정리: 24시간 경과 & Windows 가 아닐 때만 삭제 시도
-		if (elapsedSince(file.lastModified()) > deleteTmpDelay.toMillis()) {
-			log.info("SCANNER | Delete stale file without proper permission: {}", file.getAbsolutePath());
+		if (elapsedSince(attrs.lastModifiedTime().toMillis()) > deleteTmpDelay.toMillis()) {
+			log.info("SCANNER | Delete stale file without proper permission: {}", file);
 			if (!Common.isWindow()) {
 				try {
-					Files.deleteIfExists(file.toPath());
+					Files.deleteIfExists(file);
 				} catch (IOException e) {
-					log.error("SCANNER | Error while deleting file: {}", file.getAbsolutePath(), e);
+					log.error("SCANNER | Error while deleting file: {}", file, e);
 				}
 			}
 		}
-	}
-
-	@Override
-	protected boolean handleDirectory(final File directory, final int depth, final Collection<File> results) {
-		if (!isRunning()) return false;
-		return reconcileDirectory(directory);
-	}
-
-	@Override
-	protected boolean handleIsCancelled(final File file, final int depth, final Collection<File> results) {
-		return !isRunning();
-	}
-
-	@Override
-	protected void handleCancelled(final File startDirectory, final Collection<File> results, final CancelException cancel) {
-		// no-op
+		return false;
 	}
 
 	// ==== 내부 로직 ====
@@ -184,10 +298,10 @@ public final class Scanner extends DirectoryWalker<File> implements Runnable {
 
 	private void ensureStartDirectory() {
 		try {
-			if (!startDirectory.exists()) {
-				FileUtils.forceMkdir(startDirectory);
-				log.info("SCANNER | Created start directory: {}", startDirectory.getAbsolutePath());
-			} else if (!startDirectory.isDirectory()) {
+			if (!Files.exists(startDirectory)) {
+				Files.createDirectories(startDirectory);
+				log.info("SCANNER | Created start directory: {}", startDirectory.toAbsolutePath());
+			} else if (!Files.isDirectory(startDirectory)) {
 				throw new IllegalStateException("Start path is not a directory: " + startDirectory);
 			}
 		} catch (IOException e) {
@@ -195,8 +309,8 @@ public final class Scanner extends DirectoryWalker<File> implements Runnable {
 		}
 	}
 
-	private boolean isProcessable(final File file) {
-		return file != null && file.isFile() && file.length() > 0 && !file.isHidden() && Common.filePermission(file); // 7xx
+	private boolean isProcessable(final Path file, final BasicFileAttributes attrs) {
+		return attrs.isRegularFile() && attrs.size() > 0 && !file.getFileName().toString().startsWith(".") && Common.filePermission(attrs); // 7xx
 	}
 
 	private long elapsedSince(final long lastModifiedMillis) {
@@ -204,80 +318,64 @@ public final class Scanner extends DirectoryWalker<File> implements Runnable {
 	}
 
 	/**
-	 * 큐가 가득 찼을 때 offer(timeout)으로 대기하며 백프레셔를 준다.
+	 * 큐가 가득 찼을 때 offer(timeout) 안에서 블로킹하며 백프레셔를 준다 (busy-sleep 없음).
 	 * 외부 consumer 가 완료하면 ScanData 내부의 scannerCount 가 감소할 것으로 기대.
-	 * 성공 시 enqueuedThisRound++ 로 이번 라운드 즉시 재스캔 트리거.
-	 * + 중복 적재 방지: ENQUEUED.putIfAbsent(key) 가드
+	 * 성공 시 true 를 반환하여 해당 샤드의 즉시 재스캔을 트리거.
+	 * + 중복 적재 방지: registry.acquire 가드 (해제는 워커 처리 종료 시)
 	 */
-	private void addQueue(final ScanData data) throws InterruptedException {
-		if (!isRunning()) return;
-
-		final String key = safeAbsPath(new File(data.getFilePath())); // 절대경로 키
-		// === 중복 방지: 이미 ENQUEUED면 스킵 ===
-		log.debug("ENQUEUED | {}", ENQUEUED.size());
-		if (ENQUEUED.putIfAbsent(key, System.currentTimeMillis()) != null) {
-			log.debug("DEDUP | skip already enqueued or processing: {}", key);
-			return;
+	private boolean addQueue(final ScanData data) throws InterruptedException {
+		if (!isRunning()) return false;
+
+		final File file = new File(data.getFilePath());
+		// === 중복 방지: 이미 적재/처리 중이면 스킵 ===
+		if (!registry.acquire(file)) {
+			log.debug("DEDUP | skip already enqueued or processing: {}", data.getFilePath());
+			return false;
 		}
 
+		boolean offered = false;
 		try {
-			// 큐 용량을 넘겼을 경우: offer(timeout)으로 기다렸다가 재시도
-			while (isRunning() && scanQueue.size() >= LogVaultApplication.QUEUE_CAPACITY) {
-				log.debug("BACKPRESSURE | queue full (cap={}), waiting {}ms...", LogVaultApplication.QUEUE_CAPACITY, QUEUE_OFFER_WAIT_MS);
-				sleepRespectingCancel(QUEUE_OFFER_WAIT_MS);
-			}
-			if (!isRunning()) return;
-
-			// 남은 여유가 있어도 race 로 실패할 수 있으니 루프로 offer(timeout)
+			// 큐 용량을 넘겼을 경우: 공간이 날 때까지 offer(timeout) 안에서 블로킹, 단위마다 중단 여부 확인
 			while (isRunning()) {
-				boolean offered = scanQueue.offer(data, QUEUE_OFFER_WAIT_MS, TimeUnit.MILLISECONDS);
+				offered = scanQueue.offer(data, QUEUE_OFFER_WAIT_MS, TimeUnit.MILLISECONDS);
 				if (offered) {
 					data.incrementCount();  // 소비자 완료 시 decrement 예상
-					enqueuedThisRound++;    // 이번 라운드에 적재됨 → 즉시 재스캔 유도
 					log.debug("ENQ | {}", data.getFilePath());
-					return;
+					return true;            // 이번 라운드에 적재됨 → 즉시 재스캔 유도
 				}
-				log.warn("ENQ-TIMEOUT | Retrying... file={}", data.getFilePath());
+				log.debug("BACKPRESSURE | queue full (cap={}), waiting... file={}", LogVaultApplication.QUEUE_CAPACITY, data.getFilePath());
 			}
+			return false;
 		} finally {
-			// 여기서 즉시 remove 하지 않음:
-			// - 정상 offer 성공 시: 워커가 파일을 이동/삭제 → 다음 라운드 sweepEnqueued()에서 자동 해제
-			// - 스캐너 중단/예외 시: 실행 상태가 false면 제거해 재시도 가능하게 함
-			if (!isRunning()) {
-				ENQUEUED.remove(key);
-			}
+			// 정상 적재 시 해제는 워커 몫 (ClearService.clear / AbstractWorker finally)
+			// 스캐너 중단/예외로 적재하지 못했다면 즉시 해제해 재시도 가능하게 함
+			if (!offered) registry.release(data.getFilePath());
 		}
 	}
 
 	/**
-	 * 빈 디렉터리 정리 정책:
+	 * 빈 디렉터리 정리 정책 (순회 중 자식이 하나도 없었던 디렉터리에 대해서만 호출):
 	 * - 시작 디렉터리는 절대 삭제하지 않음
-	 * - 24시간 경과 & 하위에 파일 없음 → 삭제 후 재생성
+	 * - 24시간 경과 → 삭제 후 재생성
 	 */
-	private boolean reconcileDirectory(final File directory) {
-		final File[] listFiles = directory.listFiles();
-		if (listFiles == null) return false; // 접근 불가/권한 문제 등
-
-		if (listFiles.length > 0) return true; // 자식이 있으면 계속 탐색
-
+	private void recreateStaleEmptyDirectory(final Path directory, final BasicFileAttributes attrs) {
 		// 시작 디렉터리는 보호
-		if (startDirectory.getAbsolutePath().equals(directory.getAbsolutePath())) return true;
+		if (startDirectory.equals(directory)) return;
 
 		// 오래된 빈 디렉터리는 재생성
-		if (elapsedSince(directory.lastModified()) > deleteTmpDelay.toMillis()) {
-			log.debug("RECREATE | stale empty directory: {}", directory.getAbsolutePath());
+		if (elapsedSince(attrs.lastModifiedTime().toMillis()) > deleteTmpDelay.toMillis()) {
+			log.debug("RECREATE | stale empty directory: {}", directory);
+			final File dir = directory.toFile();
 			// delete()는 디렉터리가 비어있을 때만 true → 우리는 이미 빈 상태
-			if (directory.delete()) {
-				directory.deleteOnExit(); // 프로세스 종료 시 재확인 삭제
+			if (dir.delete()) {
+				dir.deleteOnExit(); // 프로세스 종료 시 재확인 삭제
 			}
 			try {
-				FileUtils.forceMkdir(directory);
+				FileUtils.forceMkdir(dir);
 			} catch (IOException e) {
 				log.error("SCANNER | Error while creating directory: {}", directory, e);
 			}
-			return false; // 이 디렉터리는 더 이상 탐색 불필요
 		}
-		return true;
 	}
 
 	private void sleepRespectingCancel(final long millis) {
@@ -289,34 +387,4 @@ public final class Scanner extends DirectoryWalker<File> implements Runnable {
 			remaining -= step;
 		}
 	}
-
-	// ==== 추가 유틸 ====
-
-	/**
-	 * ENQUEUED 키(절대경로) 스윕: 파일이 사라졌거나(stale) 오래된 항목 제거
-	 */
-	private void sweepEnqueued() {
-		final long now = System.currentTimeMillis();
-		ENQUEUED.forEach((absPath, ts) -> {
-			File f = new File(absPath);
-			if (!f.exists()) {
-				ENQUEUED.remove(absPath);
-				log.debug("DEDUP | cleared (not exists): {}", absPath);
-				return;
-			}
-			// 보수적 청소: 너무 오래된 항목은 한번 풀어주고 다시 잡히게 함
-			if (now - ts > DEFAULT_DELETE_TMP_DELAY.toMillis()) {
-				ENQUEUED.remove(absPath);
-				log.debug("DEDUP | cleared (stale): {}", absPath);
-			}
-		});
-	}
-
-	private static String safeAbsPath(File f) {
-		try {
-			return f.getCanonicalPath();
-		} catch (IOException e) {
-			return f.getAbsolutePath();
-		}
-	}
 }
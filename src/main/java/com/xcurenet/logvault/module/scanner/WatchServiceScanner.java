@@ -1,7 +1,7 @@
 package com.xcurenet.logvault.module.scanner;
 
+import com.xcurenet.common.file.AttributeDirectoryWalker;
 import com.xcurenet.common.utils.Common;
-import com.xcurenet.logvault.LogVaultApplication;
 import com.xcurenet.logvault.module.ScanData;
 import lombok.Builder;
 import lombok.extern.log4j.Log4j2;
@@ -10,6 +10,7 @@ import org.slf4j.MDC;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
@@ -17,6 +18,8 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static java.nio.file.StandardWatchEventKinds.*;
 
@@ -26,12 +29,16 @@ import static java.nio.file.StandardWatchEventKinds.*;
  * - 신규 디렉토리: registerAll 직후 seedDirectory로 레이스 커버
  * - OVERFLOW: 얕은 깊이 재귀 보정(rescanRecursive)
  * - 디바운스/코얼레싱 + 크기 안정화(or .part→ATOMIC_MOVE)로 '쓰기 완료' 판정
+ * - 디바운스는 trailing-edge: 창 안의 마지막 이벤트 기준으로 한 번만 판정 (create 직후 chmod 이벤트 유실 방지)
+ * - 중복 적재 방지는 {@link EnqueuedRegistry} 를 Scanner 와 공유 (HYBRID 모드 리컨실과 경합 없음)
+ * - reconcileInterval 이 0 이하이면 자체 리컨실을 끄고 외부 리컨실({@link Scanner#reconciler})에 맡긴다
  */
 @Log4j2
 public class WatchServiceScanner implements Runnable, AutoCloseable {
 
 	private final Path startDir;
-	private final PriorityBlockingQueue<ScanData> scanQueue;
+	private final BlockingQueue<ScanData> scanQueue;
+	private final EnqueuedRegistry registry;
 	private final AtomicBoolean run;
 	private final AtomicInteger scannerCount;
 
@@ -42,6 +49,8 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 
 	private final String tempSuffix; // 예: ".part"
 	private final long deleteTmpDelayMs;
+	private final Duration reconcileInterval;
+	private final Consumer<Path> fileListener; // 파일 생성/수정 이벤트 구독 (늦은 첨부 대기 재개 등), 없으면 null
 
 	private WatchService watcher;
 	private final Map<WatchKey, Path> keyToDir = new ConcurrentHashMap<>();
@@ -61,7 +70,8 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 
 	@Builder
 	public WatchServiceScanner(String dir,
-	                           PriorityBlockingQueue<ScanData> scanQueue,
+	                           BlockingQueue<ScanData> scanQueue,
+	                           EnqueuedRegistry registry,
 	                           AtomicBoolean run,
 	                           AtomicInteger scannerCount,
 	                           Duration pollTimeout,
@@ -69,9 +79,12 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 	                           Duration debounceWindow,
 	                           boolean useAtomicRenamePattern,
 	                           String tempSuffix,
-	                           Duration deleteTmpDelay) {
+	                           Duration deleteTmpDelay,
+	                           Duration reconcileInterval,
+	                           Consumer<Path> fileListener) {
 		this.startDir = Paths.get(Objects.requireNonNull(dir, "dir"));
 		this.scanQueue = Objects.requireNonNull(scanQueue, "scanQueue");
+		this.registry = Objects.requireNonNull(registry, "registry");
 		this.run = Objects.requireNonNull(run, "run");
 		this.scannerCount = (scannerCount != null) ? scannerCount : new AtomicInteger();
 		this.pollTimeout = (pollTimeout != null) ? pollTimeout : Duration.ofMillis(1000);
@@ -80,6 +93,8 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 		this.useAtomicRenamePattern = useAtomicRenamePattern;
 		this.tempSuffix = (tempSuffix != null) ? tempSuffix : ".part";
 		this.deleteTmpDelayMs = (deleteTmpDelay != null) ? deleteTmpDelay.toMillis() : 24L * 60 * 60 * 1000;
+		this.reconcileInterval = (reconcileInterval != null) ? reconcileInterval : Duration.ofMinutes(2);
+		this.fileListener = fileListener;
 	}
 
 	@Override
@@ -89,6 +104,7 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 		MDC.put("scanner", tname);
 		try (WatchService ws = FileSystems.getDefault().newWatchService()) {
 			this.watcher = ws;
+			Files.createDirectories(startDir);
 
 			// (A) 재귀 등록을 먼저 (초기 레이스 방지)
 			int count = registerAll(startDir);
@@ -97,7 +113,7 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 			// (B) 등록 이후 '씨딩' 한 번 더(등록~씨딩 사이 레이스 커버)
 			seedOnce();
 
-			// (C) 안전망: 주기적 얕은 깊이 리컨실 & 디바운스 맵 GC
+			// (C) 안전망: 주기적 얕은 깊이 리컨실 & 디바운스 맵 GC (외부 리컨실 사용 시 GC 만)
 			startPeriodicReconcile();
 
 			// (D) 이벤트 루프
@@ -154,63 +170,96 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 
 	/**
 	 * 파일 이벤트 처리 (디바운스 → 준비 판정 → 큐 투입 or 정리)
+	 * 이벤트마다 시각을 갱신하고 창이 지난 뒤 마지막 이벤트만 판정한다.
 	 */
 	private void onFileEvent(Path p) {
-		try {
-			if (!Files.exists(p) || Files.isDirectory(p)) return;
-			if (isHidden(p)) return;
+		notifyListener(p);
+		// .part → 최종본 rename 패턴이면, 작성중(.part)은 스킵
+		if (useAtomicRenamePattern && p.getFileName().toString().endsWith(tempSuffix)) return;
 
-			// 디바운스: 최근 이벤트 창 내 중복 억제
-			long now = System.nanoTime();
-			Long last = debounceMap.put(p, now);
-			if (last != null && nanosToDuration(now - last).compareTo(debounceWindow) < 0) {
-				return;
-			}
-
-			// .part → 최종본 rename 패턴이면, 작성중(.part)은 스킵
-			if (useAtomicRenamePattern && p.getFileName().toString().endsWith(tempSuffix)) {
-				return;
-			}
+		final long stamp = System.nanoTime();
+		debounceMap.put(p, stamp);
+		try {
+			scheduler.schedule(() -> settle(p, stamp), debounceWindow.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			debounceMap.remove(p, stamp); // 종료 중
+		}
+	}
 
-			File f = p.toFile();
-			if (!Common.filePermission(f)) {
-				maybeDeleteBadTemp(f);
-				return;
-			}
+	private void notifyListener(Path p) {
+		if (fileListener == null) return;
+		try {
+			fileListener.accept(p);
+		} catch (Exception e) {
+			log.warn("file listener error: {}", p, e);
+		}
+	}
 
-			if (useAtomicRenamePattern) {
-				// 최종본은 ATOMIC_MOVE로 이미 완성 → 즉시 큐 투입
-				addQueue(new ScanData(f, scannerCount));
-			} else {
-				// 크기 안정화 전략 (디바운스 창 뒤로 지연 후 확인)
-				scheduler.schedule(() -> {
-					try {
-						if (!Files.exists(p) || Files.isDirectory(p)) return;
-						File f2 = p.toFile();
-						long s1 = f2.length();
-						Common.sleep(sizeStableWait.toMillis());
-						long s2 = f2.length();
-						if (s1 > 0 && s1 == s2) {
-							addQueue(new ScanData(f2, scannerCount));
-						}
-					} catch (Throwable t) {
-						log.error("size-stable check error: {}", p, t);
-					}
-				}, debounceWindow.toMillis(), TimeUnit.MILLISECONDS);
-			}
+	/**
+	 * 디바운스 창 종료 후 판정. 창 안에 더 최신 이벤트가 들어왔다면 그 이벤트의 판정에 맡긴다.
+	 */
+	private void settle(Path p, long stamp) {
+		if (!debounceMap.remove(p, stamp)) return;
+		try {
+			if (!run.get()) return;
+			offerIfReady(p, null);
 		} catch (Throwable t) {
 			log.error("onFileEvent error: {}", p, t);
 		}
 	}
 
+	/**
+	 * 쓰기 완료 판정 후 큐 투입 (seed/rescan/이벤트 공통)
+	 * - 권한(7xx) 없음: 오래된 임시파일이면 삭제
+	 * - .part 패턴: 최종본은 ATOMIC_MOVE 로 이미 완성 → 즉시 투입
+	 * - 그 외: 크기 안정화 확인 후 투입
+	 */
+	private void offerIfReady(Path p, BasicFileAttributes known) {
+		if (p.getFileName().toString().startsWith(".")) return;
+		if (useAtomicRenamePattern && p.getFileName().toString().endsWith(tempSuffix)) return;
+
+		// 속성은 한 번만 읽는다 (순회 중 이미 읽었다면 재사용)
+		BasicFileAttributes attrs = (known != null) ? known : AttributeDirectoryWalker.readAttributes(p);
+		if (attrs == null || !attrs.isRegularFile()) return;
+		if (!Common.filePermission(attrs)) {
+			maybeDeleteBadTemp(p, attrs);
+			return;
+		}
+		if (attrs.size() <= 0) return;
+		if (!useAtomicRenamePattern) {
+			attrs = awaitSizeStable(p, attrs, sizeStableWait);
+			if (attrs == null) return;
+		}
+
+		try {
+			addQueue(new ScanData(p, attrs, scannerCount));
+		} catch (Exception e) {
+			log.error("enqueue error. Set no-permission to avoid reprocessing: {}", p, e);
+			Common.removeAllPermissions(p.toFile());
+		}
+	}
+
 	private void addQueue(final ScanData data) {
-		while (run.get() && scanQueue.size() >= LogVaultApplication.QUEUE_CAPACITY) {
-			Common.sleep(150);
+		final File file = new File(data.getFilePath());
+		if (!registry.acquire(file)) {
+			log.debug("DEDUP | skip already enqueued or processing: {}", data.getFilePath());
+			return;
+		}
+
+		boolean offered = false;
+		try {
+			// 큐가 가득 차면 공간이 날 때까지 블로킹 (중단 여부는 단위마다 확인)
+			while (run.get() && !offered) {
+				offered = scanQueue.offer(data, 500, TimeUnit.MILLISECONDS);
+			}
+			if (!offered) return;
+			data.incrementCount();
+			log.debug("Enqueued: {}", data.getFilePath());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			if (!offered) registry.release(data.getFilePath());
 		}
-		if (!run.get()) return;
-		scanQueue.add(data);
-		data.incrementCount();
-		log.debug("Enqueued: {}", data.getFilePath());
 	}
 
 	/**
@@ -218,71 +267,28 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 	 */
 	private void seedOnce() throws IOException {
 		if (!Files.isDirectory(startDir)) return;
-		Files.walkFileTree(startDir, new SimpleFileVisitor<>() {
-			@NotNull
+		new AttributeDirectoryWalker(-1) {
 			@Override
-			public FileVisitResult visitFile(@NotNull Path file, @NotNull BasicFileAttributes attrs) {
+			protected void handleFile(Path file, BasicFileAttributes attrs, int depth) {
 				try {
-					if (!Files.isRegularFile(file)) return FileVisitResult.CONTINUE;
-					File f = file.toFile();
-					if (isHidden(file)) return FileVisitResult.CONTINUE;
-					if (!Common.filePermission(f)) {
-						maybeDeleteBadTemp(f);
-						return FileVisitResult.CONTINUE;
-					}
-
-					if (useAtomicRenamePattern) {
-						if (!f.getName().endsWith(tempSuffix) && f.length() > 0) {
-							addQueue(new ScanData(f, scannerCount));
-						}
-					} else {
-						if (f.length() > 0 && isSizeStable(f, sizeStableWait)) {
-							addQueue(new ScanData(f, scannerCount));
-						}
-					}
+					offerIfReady(file, attrs);
 				} catch (Throwable t) {
 					log.error("seedOnce error: {}", file, t);
-					Common.removeAllPermissions(file.toFile());
 				}
-				return FileVisitResult.CONTINUE;
 			}
-		});
+
+			@Override
+			protected boolean isCancelled() {
+				return !run.get();
+			}
+		}.walk(startDir);
 	}
 
 	/**
 	 * 신규 디렉토리 생성 직후, 해당 폴더만 즉시 씨딩 (레이스 보완)
 	 */
 	private void seedDirectory(Path dir) {
-		File[] list = dir.toFile().listFiles();
-		if (list == null) return;
-		for (File f : list) {
-			if (f.isDirectory()) continue;
-			if (f.isHidden()) continue;
-			if (!Common.filePermission(f)) {
-				maybeDeleteBadTemp(f);
-				continue;
-			}
-
-			if (useAtomicRenamePattern) {
-				if (!f.getName().endsWith(tempSuffix) && f.length() > 0) {
-					try {
-						addQueue(new ScanData(f, scannerCount));
-					} catch (Exception e) {
-						log.error("seedDirectory enqueue error: {}", f.getAbsolutePath(), e);
-						Common.removeAllPermissions(f);
-					}
-				}
-			} else {
-				if (f.length() > 0 && isSizeStable(f, sizeStableWait)) {
-					try {
-						addQueue(new ScanData(f, scannerCount));
-					} catch (Exception e) {
-						log.error("seedDirectory enqueue error: {}", f.getAbsolutePath(), e);
-						Common.removeAllPermissions(f);
-					}
-				}
-			}
-		}
+		rescanDirectory(dir);
 	}
 
 	/**
@@ -296,37 +302,10 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 				rescanDirectory(root.getParent() != null ? root.getParent() : root);
 				return;
 			}
-			Files.walk(root, Math.max(1, maxDepth))
-					.filter(Files::isRegularFile)
-					.forEach(p -> {
-						File f = p.toFile();
-						if (f.isHidden()) return;
-						if (!Common.filePermission(f)) {
-							maybeDeleteBadTemp(f);
-							return;
-						}
-
-						if (useAtomicRenamePattern) {
-							if (!f.getName().endsWith(tempSuffix) && f.length() > 0) {
-								try {
-									addQueue(new ScanData(f, scannerCount));
-								} catch (Exception e) {
-									log.error("rescanRecursive enqueue error: {}", f.getAbsolutePath(), e);
-									Common.removeAllPermissions(f);
-								}
-							}
-						} else {
-							if (f.length() > 0 && isSizeStable(f, sizeStableWait)) {
-								try {
-									addQueue(new ScanData(f, scannerCount));
-								} catch (Exception e) {
-									log.error("rescanRecursive enqueue error: {}", f.getAbsolutePath(), e);
-									Common.removeAllPermissions(f);
-								}
-							}
-						}
-					});
-		} catch (IOException e) {
+			try (Stream<Path> paths = Files.walk(root, Math.max(1, maxDepth))) {
+				paths.forEach(p -> offerIfReady(p, null));
+			}
+		} catch (IOException | UncheckedIOException e) {
 			log.warn("rescanRecursive failed at {}: {}", root, e.toString());
 		}
 	}
@@ -335,35 +314,11 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 	 * 디렉토리 한 단계 보정(파일만)
 	 */
 	private void rescanDirectory(Path dir) {
-		File[] list = dir != null ? dir.toFile().listFiles() : null;
-		if (list == null) return;
-		for (File f : list) {
-			if (f.isDirectory()) continue;
-			if (f.isHidden()) continue;
-			if (!Common.filePermission(f)) {
-				maybeDeleteBadTemp(f);
-				continue;
-			}
-
-			if (useAtomicRenamePattern) {
-				if (!f.getName().endsWith(tempSuffix) && f.length() > 0) {
-					try {
-						addQueue(new ScanData(f, scannerCount));
-					} catch (Exception e) {
-						log.error("rescan enqueue error: {}", f.getAbsolutePath(), e);
-						Common.removeAllPermissions(f);
-					}
-				}
-			} else {
-				if (f.length() > 0 && isSizeStable(f, sizeStableWait)) {
-					try {
-						addQueue(new ScanData(f, scannerCount));
-					} catch (Exception e) {
-						log.error("rescan enqueue error: {}", f.getAbsolutePath(), e);
-						Common.removeAllPermissions(f);
-					}
-				}
-			}
+		if (dir == null) return;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+			for (Path p : stream) offerIfReady(p, null);
+		} catch (IOException e) {
+			log.debug("rescanDirectory failed at {}: {}", dir, e.toString());
 		}
 	}
 
@@ -404,51 +359,47 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 		}
 	}
 
-	private boolean isSizeStable(File f, Duration wait) {
-		long s1 = f.length();
+	/**
+	 * 크기 안정화 확인. 안정이면 최신 속성을, 아니면 null 을 반환한다.
+	 * 마지막 수정 후 대기 시간이 이미 지났다면 재확인 없이 안정으로 본다 (seed/rescan 시 파일당 sleep 방지)
+	 */
+	private BasicFileAttributes awaitSizeStable(Path p, BasicFileAttributes attrs, Duration wait) {
+		if (Common.diffTime(attrs.lastModifiedTime().toMillis()) > wait.toMillis()) return attrs;
 		Common.sleep(wait.toMillis());
-		long s2 = f.length();
-		return (s1 > 0 && s1 == s2);
+		BasicFileAttributes after = AttributeDirectoryWalker.readAttributes(p);
+		if (after == null || after.size() <= 0 || after.size() != attrs.size()) return null;
+		return after;
 	}
 
-	private boolean isHidden(Path p) {
+	private void maybeDeleteBadTemp(Path p, BasicFileAttributes attrs) {
 		try {
-			return Files.isHidden(p) || p.getFileName().toString().startsWith(".");
-		} catch (IOException e) {
-			return p.getFileName().toString().startsWith(".");
-		}
-	}
-
-	private void maybeDeleteBadTemp(File file) {
-		try {
-			if (Common.diffTime(file.lastModified()) > deleteTmpDelayMs) {
-				log.info("Time delay and not permission: {}", file.getAbsolutePath());
+			if (Common.diffTime(attrs.lastModifiedTime().toMillis()) > deleteTmpDelayMs) {
+				log.info("Time delay and not permission: {}", p);
 				if (!Common.isWindow()) {
-					Files.deleteIfExists(file.toPath());
+					Files.deleteIfExists(p);
 				}
 			}
 		} catch (Throwable t) {
-			log.error("delete temp failed: {}", file.getAbsolutePath(), t);
+			log.error("delete temp failed: {}", p, t);
 		}
 	}
 
-	private static Duration nanosToDuration(long nanos) {
-		return Duration.ofNanos(nanos);
-	}
-
 	/**
 	 * 주기적 얕은 깊이 리컨실 + 디바운스 맵 GC
+	 * reconcileInterval 이 0 이하이면 리컨실은 외부(Scanner 리컨실)에 맡기고 GC 만 수행한다.
 	 */
 	private void startPeriodicReconcile() {
+		final boolean selfReconcile = !reconcileInterval.isZero() && !reconcileInterval.isNegative();
+		final long periodMs = selfReconcile ? reconcileInterval.toMillis() : Duration.ofMinutes(1).toMillis();
 		scheduler.scheduleWithFixedDelay(() -> {
 			try {
 				if (!run.get()) return;
-				rescanRecursive(startDir, 2); // 비용 낮은 안전망
+				if (selfReconcile) rescanRecursive(startDir, 2); // 비용 낮은 안전망
 				gcDebounceMap();
 			} catch (Throwable t) {
 				log.warn("periodic reconcile failed: {}", t.toString());
 			}
-		}, 2, 2, TimeUnit.MINUTES);
+		}, periodMs, periodMs, TimeUnit.MILLISECONDS);
 	}
 
 	/**
@@ -475,10 +426,11 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 	}
 
 	// ====== 빌더 헬퍼 ======
-	public static WatchServiceScanner ofDefault(String dir, PriorityBlockingQueue<ScanData> scanQueue, AtomicBoolean runFlag, AtomicInteger scannerCount, boolean useAtomicRenamePattern) {
+	public static WatchServiceScanner ofDefault(String dir, BlockingQueue<ScanData> scanQueue, EnqueuedRegistry registry, AtomicBoolean runFlag, AtomicInteger scannerCount, boolean useAtomicRenamePattern) {
 		return WatchServiceScanner.builder()
 				.dir(dir)
 				.scanQueue(scanQueue)
+				.registry(registry)
 				.run(runFlag)
 				.scannerCount(scannerCount)
 				.pollTimeout(Duration.ofMillis(1000))
@@ -487,6 +439,7 @@ public class WatchServiceScanner implements Runnable, AutoCloseable {
 				.useAtomicRenamePattern(useAtomicRenamePattern)
 				.tempSuffix(".part")
 				.deleteTmpDelay(Duration.ofDays(1))
+				.reconcileInterval(Duration.ofMinutes(2))
 				.build();
 	}
 }
@@ -0,0 +1,85 @@
+package com.xcurenet.logvault.module.statics;
+
+import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.intake.IntakeService;
+import com.xcurenet.logvault.module.intake.IntakeServiceRegistry;
+import com.xcurenet.logvault.module.task.service.TaskMessageRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실시간 대비 처리 지연 / 적체 지표 (확장 판단, SLO 알림용)
+ * - app.message.lag                    : 메시지 생성(ctime) → 색인 완료까지 시간 (Timer, p50/p95/p99 + 히스토그램)
+ * - app.message.lag.last.seconds       : 마지막 색인 메시지의 지연 (초)
+ * - app.intake.queue.size{service}     : 서비스별 인입 큐 적재 건수 (중복 방지 등록 건수는 app.intake.enqueued.size)
+ * - app.intake.oldest.age.seconds{service} : 인입 큐에서 가장 오래 기다린 파일의 나이 (초, 큐가 비면 0)
+ * - app.task.queue{status}             : AI_PROCESSING_QUEUE PENDING/RUNNING 건수 (metrics.task.queue.refresh-ms 주기 조회)
+ * - app.task.executor.active / .queue / .utilization{executor} : ocrExecutor, mlExecutor 포화도
+ */
+@Log4j2
+@Component
+public class LagMetrics {
+
+	private final TaskMessageRepository taskRepository;
+	private final Timer lag;
+	private final AtomicLong lastLagSec = new AtomicLong();
+	private final AtomicLong taskPending = new AtomicLong();
+	private final AtomicLong taskRunning = new AtomicLong();
+
+	public LagMetrics(final MeterRegistry registry, final IntakeServiceRegistry intakeServices, final TaskMessageRepository taskRepository, @Qualifier("ocrExecutor") final ThreadPoolTaskExecutor ocrExecutor, @Qualifier("mlExecutor") final ThreadPoolTaskExecutor mlExecutor) {
+		this.taskRepository = taskRepository;
+		this.lag = Timer.builder("app.message.lag").description("Message capture time to indexed").publishPercentiles(0.5, 0.95, 0.99).publishPercentileHistogram().register(registry);
+		Gauge.builder("app.message.lag.last.seconds", lastLagSec, AtomicLong::get).description("Lag of the most recently indexed message").register(registry);
+
+		for (IntakeService service : intakeServices.getServices()) {
+			Gauge.builder("app.intake.queue.size", service.getQueue(), q -> q.size()).description("Files waiting in the intake queue").tag("service", service.getName()).register(registry);
+			Gauge.builder("app.intake.oldest.age.seconds", service, LagMetrics::oldestAgeSec).description("Age of the oldest file waiting in the intake queue").tag("service", service.getName()).register(registry);
+		}
+
+		Gauge.builder("app.task.queue", taskPending, AtomicLong::get).description("AI processing queue rows").tag("status", "pending").register(registry);
+		Gauge.builder("app.task.queue", taskRunning, AtomicLong::get).description("AI processing queue rows").tag("status", "running").register(registry);
+
+		executor(registry, "ocr", ocrExecutor);
+		executor(registry, "ml", mlExecutor);
+	}
+
+	private static void executor(final MeterRegistry registry, final String name, final ThreadPoolTaskExecutor executor) {
+		Gauge.builder("app.task.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount).description("Busy task executor threads").tag("executor", name).register(registry);
+		Gauge.builder("app.task.executor.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size()).description("Tasks waiting in the executor queue").tag("executor", name).register(registry);
+		Gauge.builder("app.task.executor.utilization", executor, e -> e.getMaxPoolSize() > 0 ? (double) e.getActiveCount() / e.getMaxPoolSize() : 0d).description("Busy threads / max pool size").tag("executor", name).register(registry);
+	}
+
+	private static double oldestAgeSec(final IntakeService service) {
+		final ScanData head = service.getQueue().peek();
+		return head == null ? 0d : Math.max(0L, System.currentTimeMillis() - head.getLastModified()) / 1000d;
+	}
+
+	/**
+	 * 색인 완료 시 호출: 메시지 생성 시각(ctime) 기준 지연 기록
+	 */
+	public void indexed(final ScanData data) {
+		if (data.getMsgData() == null || data.getMsgData().getCtime() == null) return;
+		final long lagMs = Math.max(0L, System.currentTimeMillis() - data.getMsgData().getCtime().getMillis());
+		lag.record(lagMs, TimeUnit.MILLISECONDS);
+		lastLagSec.set(lagMs / 1000L);
+	}
+
+	@Scheduled(fixedDelayString = "${metrics.task.queue.refresh-ms:30000}")
+	public void refreshTaskQueue() {
+		try {
+			taskPending.set(taskRepository.countByStatus("PENDING"));
+			taskRunning.set(taskRepository.countByStatus("RUNNING"));
+		} catch (Exception e) {
+			log.debug("LAG_METRIC | task queue count failed | {}", e.getMessage());
+		}
+	}
+}
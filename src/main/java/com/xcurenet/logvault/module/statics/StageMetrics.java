@@ -0,0 +1,55 @@
+package com.xcurenet.logvault.module.statics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 처리 단계별 소요 시간 (Micrometer Timer, 백분위 히스토그램 포함)
+ * - 태그: stage(단계), service(인입 서비스), outcome(결과)
+ * - app.message.stage.duration : Worker 세부 단계 (info, attach_check, parse, insa, filter, analyse, store_body, store_attach, index, alert, task, clear)
+ * - app.message.duration       : 메시지 1건 전체 (stage=complete|filtered)
+ * - app.analysis.duration      : 분석 기능별 (stage=geo, lang, att_text, ...)
+ * - app.pipeline.stage.duration: 파이프라인 단계별 (stage=parse, unpark, analyse, store, index)
+ * actuator /actuator/metrics/{이름}?tag=stage:index 로 조회
+ */
+@Component
+public class StageMetrics {
+	public static final String MESSAGE_STAGE = "app.message.stage.duration";
+	public static final String MESSAGE = "app.message.duration";
+	public static final String ANALYSIS = "app.analysis.duration";
+	public static final String PIPELINE_STAGE = "app.pipeline.stage.duration";
+
+	public static final String SUCCESS = "success";
+	public static final String ERROR = "error";
+	public static final String TIMEOUT = "timeout";
+	public static final String RETRY = "retry";
+	public static final String PARKED = "parked";
+
+	private final MeterRegistry registry;
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	public StageMetrics(final MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	public void record(final String name, final String stage, final String service, final String outcome, final long nanos) {
+		timer(name, stage, service, outcome).record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public Timer timer(final String name, final String stage, final String service, final String outcome) {
+		final String svc = service != null ? service : "unknown";
+		return timers.computeIfAbsent(String.join("|", name, stage, svc, outcome), k -> Timer.builder(name)
+				.description("Message processing time per stage")
+				.tag("stage", stage)
+				.tag("service", svc)
+				.tag("outcome", outcome)
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.publishPercentileHistogram()
+				.register(registry));
+	}
+}
@@ -12,6 +12,8 @@ public interface TaskMessageRepository {
 	@Transactional
 	List<TaskMessage> claimBatchByType(@Param("taskType") String taskType, @Param("limit") int limit);
 
+	long countByStatus(@Param("status") String status);
+
 	@Transactional
 	void updateStatusPending();
 
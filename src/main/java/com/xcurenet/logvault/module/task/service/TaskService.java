@@ -4,6 +4,8 @@ import com.alibaba.fastjson2.JSON;
 import com.xcurenet.common.utils.DateUtils;
 import com.xcurenet.logvault.conf.Config;
 import com.xcurenet.logvault.module.ScanData;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter.Dependency;
 import com.xcurenet.logvault.opensearch.EmassDoc;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -18,6 +20,7 @@ import java.util.List;
 public class TaskService {
 	private final Config conf;
 	private final TaskMessageRepository repository;
+	private final DependencyLimiter limiter;
 
 	public void send(final ScanData data) {
 		StopWatch sw = DateUtils.start();
@@ -39,7 +42,7 @@ public class TaskService {
 				message.setMsgId(doc.getMsgid());
 				message.setTaskType("OCR");
 				message.setData(JSON.toJSONString(doc));
-				repository.insertMessage(message);
+				limiter.run(Dependency.DATABASE, () -> repository.insertMessage(message));
 				log.info("OCR_READY | CNT:{} | {}", ocrTargetCount, DateUtils.stop(sw));
 			}
 		} catch (Exception e) {
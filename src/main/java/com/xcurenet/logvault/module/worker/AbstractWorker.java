@@ -17,7 +17,13 @@ import com.xcurenet.logvault.module.alert.AlertService;
 import com.xcurenet.logvault.module.analysis.AnalysisService;
 import com.xcurenet.logvault.module.clear.ClearService;
 import com.xcurenet.logvault.module.filter.FilterService;
+import com.xcurenet.logvault.module.journal.IntakeJournal;
+import com.xcurenet.logvault.module.journal.JournalStage;
 import com.xcurenet.logvault.module.log.LogService;
+import com.xcurenet.logvault.module.pipeline.FanOutExecutor;
+import com.xcurenet.logvault.module.scanner.EnqueuedRegistry;
+import com.xcurenet.logvault.module.statics.LagMetrics;
+import com.xcurenet.logvault.module.statics.StageMetrics;
 import com.xcurenet.logvault.module.statics.ThroughputMetrics;
 import com.xcurenet.logvault.module.task.service.TaskService;
 import com.xcurenet.logvault.module.util.InsaManager;
@@ -29,19 +35,15 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.util.StopWatch;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 @Data
 @Log4j2
-public abstract class AbstractWorker implements Runnable {
-	private final PriorityBlockingQueue<ScanData> queue;
-	private final AtomicBoolean run;
-	private final AtomicBoolean inprogress = new AtomicBoolean(false);
-
+public abstract class AbstractWorker {
+	private static final long UNKNOWN_ERROR_HOLD_MS = 10000L; // 알 수 없는 오류 시 재적재 보류 시간
 	protected final Config conf;
 	protected final InsaManager insaManager;
 	protected final FileProcessor fileSystem;
@@ -53,12 +55,15 @@ public abstract class AbstractWorker implements Runnable {
 	protected final FilterService filterService;
 	protected final AlertService alertService;
 	protected final TaskService taskService;
+	protected final EnqueuedRegistry enqueuedRegistry;
+	protected final IntakeJournal journal;
+	protected final FanOutExecutor fanOut;
 
 	protected final ThroughputMetrics metrics;
+	protected final StageMetrics stageMetrics;
+	protected final LagMetrics lagMetrics;
 
-	protected AbstractWorker(final ApplicationContext context, final PriorityBlockingQueue<ScanData> queue, final AtomicBoolean run) {
-		this.queue = queue;
-		this.run = run;
+	protected AbstractWorker(final ApplicationContext context) {
 		this.conf = context.getBean(Config.class);
 		this.insaManager = context.getBean(InsaManager.class);
 		this.fileSystem = context.getBean(FileProcessor.class);
@@ -66,95 +71,187 @@ public abstract class AbstractWorker implements Runnable {
 		this.logService = context.getBean(LogService.class);
 		this.clearService = context.getBean(ClearService.class);
 		this.metrics = context.getBean(ThroughputMetrics.class);
+		this.stageMetrics = context.getBean(StageMetrics.class);
+		this.lagMetrics = context.getBean(LagMetrics.class);
 		this.geoLocation = context.getBean(GeoLocation.class);
 		this.filterService = context.getBean(FilterService.class);
 		this.alertService = context.getBean(AlertService.class);
 		this.taskService = context.getBean(TaskService.class);
 		this.indexService = context.getBean(IndexService.class);
+		this.enqueuedRegistry = context.getBean(EnqueuedRegistry.class);
+		this.journal = context.getBean(IntakeJournal.class);
+		this.fanOut = context.getBean(FanOutExecutor.class);
 	}
 
-	@Override
-	public void run() {
-		MDC.put("worker", Thread.currentThread().getName());
+	/**
+	 * 파이프라인 다음 단계 ({@link com.xcurenet.logvault.module.pipeline.StagedPipeline})
+	 */
+	public enum Step {
+		ANALYSE, STORE, INDEX, DONE
+	}
 
-		while (run.get()) {
-			ScanData data = poll();
-			if (data == null) continue;
-			try {
-				inprogress.set(true);
-				if (data.getFilePath() == null || !new File(data.getFilePath()).exists()) continue;
-
-				data.setStopWatch(DateUtils.start());
-				data.setStart(System.currentTimeMillis());
-
-				process(data);                 // INFO 파일 파싱
-				checkAttachments(data);        // 첨부파일 체크  (각 Worker 에서 파일 대기에 대한 기준을 재 정립, 첨부가 없으면 대기)
-				parse(data);                   // 서비스별 추가 내용 파싱 (Error 발생 시 처음부터 재 처리)
-				insaMapping(data);             // 인사 정보 연동 (Error 발생 시 처음부터 재 처리)
-
-				boolean rs = filterService.filter(data); // 필터 처리     (Error 발생 시 처음부터 재 처리)
-				if (!rs) { // 필터링 되는 파일의 경우 아래 내용은 처리하지 않음.
-					analysisService.analyse(data); // 분석 기능     (Error 발생 시 무시)
-
-					boolean success = false;
-					int retryCnt = 1;
-					while (retryCnt <= 3) {
-						try {
-
-							transToBody(data);      // 본문 전송     (Error 발생 시 해당 로직 3회 재처리 후 지속 에러 발생 시 처음부터 재 처리)
-							transToAttach(data);    // 첨부파일 전송  (Error 발생 시 해당 로직 3회 재처리 후 지속 에러 발생 시 처음부터 재 처리)
-							index(data);            // Elastic 색인 (Error 발생 시 해당 로직 3회 재처리 후 지속 에러 발생 시 처음부터 재 처리)
-							alert(data);            // 이상행위 (룰) 탐지 시 알림 전송
-							task(data);             // OCR 사용이면, OCR 처리
-							success = true;
-							break;
-						} catch (final FileSendException | IndexerException e) {
-							log.debug("ERROR | {} | {}", data.getMsgData().getMsgid(), e.getMessage(), e);
-							retryCnt++;
-							Common.sleep(2000);
-						}
-					}
-					if (!success) return;            // 오류 상황 시 원본 데이터 삭제 금지. (재 처리시 필요함.)
-				}
-				clearService.clear(data);            // 처리 후 파일 삭제 (Error 발생 시 continue)
-				logService.log(data);                // 완료 로그
-
-				metrics.increment();
-				LogVaultApplication.getMinuteBy1Count().incrementAndGet();  // 1분 통계 증가
-				LogVaultApplication.getSecBy10Count().incrementAndGet();    // 10초 통계 증가
-			} catch (final SkipFileException e) { // 첨부 파일이 늦게 들어오는 경우 대기 용도
-				log.info("WAIT_SEC | {} | {} seconds until the file is available.\n", e.getMessage(), this.conf.getInterval() / 1000);
-			} catch (final ProcessDataException | ParsingException e) {
-				log.debug("{}", data.getFilePath(), e);
-				// 기본 파싱이 되지 않는 다면 권한을 제거하여 재 처리 되는 오류를 방지한다.
-				Common.removeAllPermissions(new File(data.getFilePath()));
-			} catch (final Exception e) {
-				log.warn("{} | {} | filePath={} err={}", ErrorCode.UNKNOWN_ERROR, ErrorCode.fromCode(ErrorCode.UNKNOWN_ERROR), data.getFilePath(), e.toString());
-				Common.sleep(10000);
-			} finally {
-				MDC.remove("msgId");
-				data.decrementCount(); // 처리 건수 감소
-				inprogress.set(false);
-			}
-		}
+	@FunctionalInterface
+	protected interface Action<E extends Exception> {
+		void run() throws E;
+	}
+
+	@FunctionalInterface
+	protected interface Call<T, E extends Exception> {
+		T call() throws E;
 	}
 
-	public boolean getProgress() {
-		return inprogress.get();
+	/**
+	 * 세부 단계 실행 + 소요 시간 기록 (app.message.stage.duration{stage, service, outcome})
+	 */
+	protected <E extends Exception> void timed(final String stage, final ScanData data, final Action<E> action) throws E {
+		timedCall(stage, data, () -> {
+			action.run();
+			return null;
+		});
 	}
 
-	private ScanData poll() {
+	protected <T, E extends Exception> T timedCall(final String stage, final ScanData data, final Call<T, E> call) throws E {
+		final long start = System.nanoTime();
+		boolean ok = false;
 		try {
-			return queue.poll(1, TimeUnit.SECONDS);
-		} catch (final InterruptedException ignored) {
+			final T result = call.call();
+			ok = true;
+			return result;
+		} finally {
+			stageMetrics.record(StageMetrics.MESSAGE_STAGE, stage, data.getService(), ok ? StageMetrics.SUCCESS : StageMetrics.ERROR, System.nanoTime() - start);
 		}
-		return null;
+	}
+
+	/**
+	 * PARSE 단계 (CPU): INFO 파싱, 재시작 복구 확인, 첨부 대기, 서비스별 파싱, 인사 연동, 필터
+	 */
+	public Step prepare(final ScanData data) throws Exception {
+		if (data.getFilePath() == null || !new File(data.getFilePath()).exists()) return Step.DONE;
+
+		data.setStopWatch(DateUtils.start());
+		data.setStart(System.currentTimeMillis());
+
+		timed("info", data, () -> process(data)); // INFO 파일 파싱
+		final JournalStage resumed = resumedStage(data); // 이전 실행에서 완료된 단계 (재시작 복구)
+		data.setResumed(resumed);
+		if (resumed == JournalStage.INDEXED) { // 색인까지 끝났고 정리만 못한 메시지 → 재분석/재전송/재색인 생략
+			log.info("JOURNAL | RESUME | {} | clear only", resumed);
+			timed("clear", data, () -> clearService.clear(data));
+			journal.mark(data.getMsgData().getMsgid(), JournalStage.CLEARED);
+			return Step.DONE;
+		}
+		return unpark(data);
+	}
+
+	/**
+	 * PARSE 단계 후반: 첨부 대기 이후 처리. 늦은 첨부를 기다리던 메시지는 파일이 도착하면 INFO 재파싱 없이 여기서 재개한다.
+	 */
+	public Step unpark(final ScanData data) throws Exception {
+		timed("attach_check", data, () -> checkAttachments(data)); // 첨부파일 체크  (각 Worker 에서 파일 대기에 대한 기준을 재 정립, 첨부가 없으면 대기)
+		timed("parse", data, () -> parse(data));                  // 서비스별 추가 내용 파싱 (Error 발생 시 처음부터 재 처리)
+		timed("insa", data, () -> insaMapping(data));             // 인사 정보 연동 (Error 발생 시 처음부터 재 처리)
+
+		boolean rs = timedCall("filter", data, () -> filterService.filter(data)); // 필터 처리     (Error 발생 시 처음부터 재 처리)
+		if (rs) { // 필터링 되는 파일의 경우 분석/전송/색인은 처리하지 않음.
+			complete(data, "filtered");
+			return Step.DONE;
+		}
+		return Step.ANALYSE;
+	}
+
+	/**
+	 * ANALYSE 단계 (원격 텍스트 추출/개인정보 API): 분석 기능 (Error 발생 시 무시)
+	 */
+	public Step analyse(final ScanData data) {
+		timed("analyse", data, () -> analysisService.analyse(data));
+		return Step.STORE;
+	}
+
+	/**
+	 * STORE 단계 (파일 시스템/MinIO 쓰기): 본문, 첨부파일 전송 (Error 발생 시 지연 재처리, 지속 에러 시 원본 유지)
+	 */
+	public Step store(final ScanData data) throws FileSendException {
+		if (data.getResumed() == JournalStage.STORED) return Step.INDEX; // 이전 실행에서 전송 완료 시 재전송 생략
+
+		timed("store_body", data, () -> transToBody(data));      // 본문 전송
+		timed("store_attach", data, () -> transToAttach(data));  // 첨부파일 전송
+		journal.mark(data.getMsgData().getMsgid(), JournalStage.STORED);
+		return Step.INDEX;
+	}
+
+	/**
+	 * INDEX 단계 (OpenSearch): 색인 (Error 발생 시 지연 재처리, 지속 에러 시 원본 유지), 알림, 후처리, 원본 정리
+	 */
+	public Step indexing(final ScanData data) throws IndexerException {
+		timed("index", data, () -> index(data));  // Elastic 색인
+		timed("alert", data, () -> alert(data));  // 이상행위 (룰) 탐지 시 알림 전송
+		timed("task", data, () -> task(data));    // OCR 사용이면, OCR 처리
+		journal.mark(data.getMsgData().getMsgid(), JournalStage.INDEXED);
+		lagMetrics.indexed(data);                 // 생성 → 색인 지연
+		complete(data, "complete");
+		return Step.DONE;
+	}
+
+	/**
+	 * 지연 재처리 대상 오류 (원격 저장소/색인 일시 장애)
+	 */
+	public boolean isRetryable(final Throwable ex) {
+		return ex instanceof FileSendException || ex instanceof IndexerException;
+	}
+
+	/**
+	 * @param outcome 메시지 전체 소요 시간 구분 (complete: 색인 완료, filtered: 필터 제외)
+	 */
+	private void complete(final ScanData data, final String outcome) {
+		timed("clear", data, () -> clearService.clear(data)); // 처리 후 파일 삭제 (Error 발생 시 continue)
+		journal.mark(data.getMsgData().getMsgid(), JournalStage.CLEARED);
+		logService.log(data);                // 완료 로그
+
+		metrics.increment();
+		stageMetrics.record(StageMetrics.MESSAGE, outcome, data.getService(), StageMetrics.SUCCESS, TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - data.getStart()));
+		LogVaultApplication.getMinuteBy1Count().incrementAndGet();  // 1분 통계 증가
+		LogVaultApplication.getSecBy10Count().incrementAndGet();    // 10초 통계 증가
+	}
+
+	/**
+	 * 단계 처리 중 예외 처리
+	 *
+	 * @return 재적재 보류(defer) 했으면 true
+	 */
+	public boolean fail(final ScanData data, final Throwable ex) {
+		if (ex instanceof SkipFileException e) { // 첨부 파일이 늦게 들어오는 경우 대기 용도 (보관소가 가득 찬 경우 스캐너 재적재로 대기)
+			log.info("WAIT_SEC | {} | {} seconds until the file is available.\n", e.getMessage(), this.conf.getInterval() / 1000);
+			enqueuedRegistry.defer(data, conf.getScanDedupSkipHoldSec() * 1000L); // 즉시 재적재 루프 방지
+			return true;
+		}
+		if (ex instanceof ProcessDataException || ex instanceof ParsingException) {
+			log.debug("{}", data.getFilePath(), ex);
+			// 기본 파싱이 되지 않는 다면 권한을 제거하여 재 처리 되는 오류를 방지한다.
+			Common.removeAllPermissions(new File(data.getFilePath()));
+			return false;
+		}
+		if (isRetryable(ex)) { // 재처리 횟수 초과: 오류 상황 시 원본 데이터 삭제 금지. (재 처리시 필요함.)
+			log.warn("RETRY_OVER | {} | {}", data.getMsgData().getMsgid(), ex.getMessage());
+			log.debug("ERROR | {} | {}", data.getMsgData().getMsgid(), ex.getMessage(), ex);
+			return false;
+		}
+		log.warn("{} | {} | filePath={} err={}", ErrorCode.UNKNOWN_ERROR, ErrorCode.fromCode(ErrorCode.UNKNOWN_ERROR), data.getFilePath(), ex.toString());
+		enqueuedRegistry.defer(data, UNKNOWN_ERROR_HOLD_MS); // 처리 쓰레드 대기 없이 일정 시간 재적재 보류
+		return true;
+	}
+
+	/**
+	 * 파이프라인 종료 (마지막 단계 이후 항상 호출)
+	 */
+	public void finish(final ScanData data, final boolean deferred) {
+		if (!deferred) enqueuedRegistry.release(data); // 처리 종료 → 다음 스캔에서 재적재 가능
+		data.decrementCount(); // 처리 건수 감소
 	}
 
 	protected void process(ScanData data) throws ProcessDataException {
 		StopWatch sw = DateUtils.start();
 
-		MSGData msg = MSGParser.parse(data.getFilePath());
+		MSGData msg = MSGParser.parse(data.getFilePath(), data.getFileNameInfo()); // 파일명 정보는 스캔 시 해석한 것 재사용
 		data.setMsgData(msg);
 		MDC.put("msgId", data.getMsgData().getMsgid());
 		log.info("MG_START | {} | {} | ATT:{} | {} | {} | {}", msg.getSourceIp(), msg.getSvc(), msg.getAppFile().size(), msg.getSubject(), conf.getWmailPathSmall(data.getFilePath()), DateUtils.stop(sw));
@@ -162,13 +259,15 @@ public abstract class AbstractWorker implements Runnable {
 
 	protected void checkAttachments(ScanData data) throws SkipFileException {
 		MSGData msg = data.getMsgData();
-		if (msg.getHeader() != null) checkFiles(data, conf.getPath(msg.getHeader()), msg.getMsgid());
-		if (msg.getMsgFile() != null) checkFiles(data, conf.getPath(msg.getMsgFile()), msg.getMsgid());
+		List<String> missing = new ArrayList<>();
+		if (msg.getHeader() != null) checkFiles(data, conf.getPath(msg.getHeader()), msg.getMsgid(), missing);
+		if (msg.getMsgFile() != null) checkFiles(data, conf.getPath(msg.getMsgFile()), msg.getMsgid(), missing);
 		if (msg.getAppFile() != null) {
 			for (String appFile : msg.getAppFile()) {
-				checkFiles(data, conf.getPath(appFile), msg.getMsgid());
+				checkFiles(data, conf.getPath(appFile), msg.getMsgid(), missing);
 			}
 		}
+		if (!missing.isEmpty()) throw new SkipFileException(missing); // 없는 파일 전체를 넘겨 한 번에 대기
 	}
 
 	protected abstract void parse(ScanData data) throws ParsingException;
@@ -231,17 +330,33 @@ public abstract class AbstractWorker implements Runnable {
 
 	protected abstract void index(ScanData data) throws IndexerException;
 
+	/**
+	 * 이미 색인된 메시지인지 확인 (저널 Bloom 필터 적중 시 오탐 확정용)
+	 */
+	protected abstract boolean isIndexed(ScanData data);
+
 	protected abstract void alert(ScanData data);
 
 	protected abstract void task(ScanData data);
 
 	/**
-	 * 본문, 헤더, 첨부파일 파일이 없는 경우 최대 30분 대기
+	 * 저널 기준 이전 실행에서 완료된 단계. 처리 중 기록이 없고 완료 Bloom 필터에 걸리면 색인 존재 여부로 확정한다.
+	 */
+	private JournalStage resumedStage(final ScanData data) {
+		final String msgId = data.getMsgData().getMsgid();
+		final JournalStage stage = journal.stageOf(msgId);
+		if (stage != null) return stage;
+		if (journal.mightBeCompleted(msgId) && isIndexed(data)) return JournalStage.INDEXED;
+		return null;
+	}
+
+	/**
+	 * 본문, 헤더, 첨부파일 파일이 없는 경우 최대 30분 대기 (대기 대상은 missing 에 모은다)
 	 */
-	protected void checkFiles(final ScanData data, final String path, final String msgId) throws SkipFileException {
+	protected void checkFiles(final ScanData data, final String path, final String msgId, final List<String> missing) {
 		if (path != null && !new File(path).exists()) {
 			if (System.currentTimeMillis() - data.getLastModified() < this.conf.getInterval()) {
-				throw new SkipFileException(path);
+				missing.add(path);
 			} else log.info("NOTFOUND | {} | {} seconds over", path, this.conf.getInterval() / 1000);
 		}
 	}
@@ -5,9 +5,9 @@ import com.xcurenet.common.msg.MSGData;
 import com.xcurenet.common.msg.MSGParser;
 import com.xcurenet.common.types.AttachExtension;
 import com.xcurenet.common.types.FileNameInfo;
+import com.xcurenet.common.utils.BodyTextReader;
 import com.xcurenet.common.utils.Common;
 import com.xcurenet.common.utils.DateUtils;
-import com.xcurenet.common.utils.FileUtil;
 import com.xcurenet.logvault.exception.IndexerException;
 import com.xcurenet.logvault.exception.ParsingException;
 import com.xcurenet.logvault.loader.type.UserInfo;
@@ -20,14 +20,12 @@ import org.springframework.context.ApplicationContext;
 
 import java.io.File;
 import java.util.*;
-import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 @Log4j2
 public class MSGWorker extends AbstractWorker {
 
-	public MSGWorker(final ApplicationContext context, PriorityBlockingQueue<ScanData> queue, final AtomicBoolean run) {
-		super(context, queue, run);
+	public MSGWorker(final ApplicationContext context) {
+		super(context);
 	}
 
 	@Override
@@ -77,6 +75,18 @@ public class MSGWorker extends AbstractWorker {
 		indexService.index(doc, index);
 	}
 
+	@Override
+	protected boolean isIndexed(ScanData data) {
+		MSGData msg = data.getMsgData();
+		try {
+			String index = conf.getIndexName() + msg.getCtime().toString(DateUtils.YYYYMMDD);
+			return indexService.get(msg.getMsgid(), EmassDoc.class, index) != null;
+		} catch (Exception e) {
+			log.debug("MG_EXIST | {} | {}", msg.getMsgid(), e.getMessage());
+			return false;
+		}
+	}
+
 	@Override
 	protected void alert(ScanData data) {
 		alertService.send(data);
@@ -125,9 +135,7 @@ public class MSGWorker extends AbstractWorker {
 		File file = new File(conf.getPath(msg.getMsgFile()));
 		if (!file.exists()) return;
 
-		String text = Common.limitLength(FileUtil.getText(file.getAbsolutePath()), conf.getTextLimitLength());
-		text = Common.limitTokenLengthWithSpace(text, conf.getTextLimitToken());
-		text = Common.unescapeJava(text);
+		String text = BodyTextReader.read(file.getAbsolutePath(), conf.getTextLimitLength(), conf.getTextLimitToken()); // 길이 제한/토큰 제한/이스케이프 치환을 읽으면서 처리
 		log.debug("BDY_TEXT | {}", text);
 
 		body.setPath(conf.getDestPath(msg.getCtime(), msg.getMsgid(), msg.getMsgid() + ".body"));
@@ -152,6 +160,7 @@ public class MSGWorker extends AbstractWorker {
 		int existCnt = 0;
 		long sizeSum = 0L;
 		List<EmassDoc.Attach> attaches = new ArrayList<>(count);
+		List<EmassDoc.Attach> hashTargets = new ArrayList<>(count);
 		for (int i = 0; i < count; i++) {
 			EmassDoc.Attach at = new EmassDoc.Attach();
 
@@ -176,7 +185,7 @@ public class MSGWorker extends AbstractWorker {
 				size = (srcFile.exists() ? srcFile.length() : 0L);
 				if (exists) {
 					at.setPath(conf.getDestPath(msg.getCtime(), msg.getMsgid(), srcFile.getName()));
-					at.setHash(Common.digest(Constants.SHA256, srcFile.getAbsolutePath()));
+					hashTargets.add(at);
 				}
 			}
 			at.setExist(exists);
@@ -196,6 +205,7 @@ public class MSGWorker extends AbstractWorker {
 			sizeSum += at.getSize();
 			attaches.add(at);
 		}
+		fanOut.forEach("ATT_HASH", hashTargets, at -> at.setHash(Common.digest(Constants.SHA256, at.getSrcPath()))); // 대용량 첨부 해시 병렬 계산
 
 		doc.setAttach(attaches.isEmpty() ? null : attaches);
 		doc.setAttachCount(attaches.size());
@@ -11,6 +11,8 @@ import com.xcurenet.common.utils.DateUtils;
 import com.xcurenet.common.utils.ExFactory;
 import com.xcurenet.logvault.conf.Config;
 import com.xcurenet.logvault.exception.IndexerException;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter;
+import com.xcurenet.logvault.module.pipeline.DependencyLimiter.Dependency;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.http.util.EntityUtils;
@@ -59,6 +61,7 @@ public class IndexService {
 
 	protected final OpenSearchRestTemplate template;
 	private final Config conf;
+	private final DependencyLimiter limiter;
 	private final ObjectMapper mapper = new ObjectMapper();
 
 	public <T> T get(final String msgId, final Class<T> clazz, final String indexName) {
@@ -74,7 +77,7 @@ public class IndexService {
 			if (data == null) {
 				throw ExFactory.ex(IndexerException::new, ErrorCode.INDEX_DATA_NULL, Map.of("index", indexName, "data", "null"));
 			}
-			template.save(data, IndexCoordinates.of(indexName));
+			limiter.call(Dependency.OPENSEARCH, () -> template.save(data, IndexCoordinates.of(indexName)));
 		} catch (Exception e) {
 			StringWriter stringWriter = new StringWriter();
 			e.printStackTrace(new PrintWriter(stringWriter));